@@ -0,0 +1,100 @@
+package com.api.sistema_pagamento_backend.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.api.sistema_pagamento_backend.storage.LocalComprovanteStorage;
+
+/* Mede a gravação (cópia com cálculo do SHA-256 e rename atômico) e a leitura dos comprovantes em disco para diferentes tamanhos de PDF.
+ * É o caminho de arquivo do PagamentoService.salvarPagamento e do download em /pagamentoArquivo/{pagamentoId}. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ComprovanteBenchmark {
+
+    @Param({ "102400", "1048576", "10485760" }) // 100 KB, 1 MB e 10 MB
+    private int tamanho;
+
+    private Path diretorio;
+    private LocalComprovanteStorage storage;
+    private byte[] conteudo;
+    private byte[] conteudoExistente;
+    private String referenciaExistente;
+    private String ultimaGravacao;
+    private long contador;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        diretorio = Files.createTempDirectory("comprovante-benchmark");
+        storage = new LocalComprovanteStorage(diretorio.toString());
+
+        conteudo = new byte[tamanho];
+        new Random(42).nextBytes(conteudo);
+        conteudoExistente = conteudo.clone();
+        referenciaExistente = storage.salvar(new ByteArrayInputStream(conteudoExistente));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> arquivos = Files.walk(diretorio)) {
+            arquivos.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    // Remove o arquivo gravado na invocação para que o disco não cresça durante a medição
+    @TearDown(Level.Invocation)
+    public void removerGravacao() throws IOException {
+        if (ultimaGravacao != null && !ultimaGravacao.equals(referenciaExistente)) {
+            Files.deleteIfExists(Path.of(URI.create(ultimaGravacao)));
+        }
+        ultimaGravacao = null;
+    }
+
+    @Benchmark
+    public String gravarComprovanteNovo() throws IOException {
+        // Altera os primeiros bytes para que cada gravação tenha um hash novo (sem deduplicação)
+        ByteBuffer.wrap(conteudo).putLong(0, ++contador);
+        ultimaGravacao = storage.salvar(new ByteArrayInputStream(conteudo));
+        return ultimaGravacao;
+    }
+
+    @Benchmark
+    public String gravarComprovanteDuplicado() throws IOException {
+        ultimaGravacao = storage.salvar(new ByteArrayInputStream(conteudoExistente));
+        return ultimaGravacao;
+    }
+
+    @Benchmark
+    public long lerComprovante() throws IOException {
+        try (InputStream in = storage.carregar(referenciaExistente).getInputStream()) {
+            return in.transferTo(OutputStream.nullOutputStream());
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.api.sistema_pagamento_backend.benchmarks;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.api.sistema_pagamento_backend.SistemaPagamentoBackendApplication;
+import com.api.sistema_pagamento_backend.dtos.AgregacaoPagamentoDto;
+import com.api.sistema_pagamento_backend.dtos.FiltroAgregacaoDto;
+import com.api.sistema_pagamento_backend.dtos.PagamentoResumoDto;
+import com.api.sistema_pagamento_backend.entities.Pagamento;
+import com.api.sistema_pagamento_backend.enums.DimensaoAgregacao;
+import com.api.sistema_pagamento_backend.enums.PagamentoStatus;
+import com.api.sistema_pagamento_backend.repositories.PagamentoRepository;
+
+/* Mede os finders do PagamentoRepository contra um H2 embarcado (modo MySQL) com 1 mil a 1 milhão de pagamentos. O contexto do Spring
+ * é iniciado sem a camada web e sem o perfil dev, com o esquema criado pelo Hibernate. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = { "-Xmx4g" })
+public class RepositorioBenchmark {
+
+    private static final int PAGAMENTOS_POR_ESTUDANTE = 50;
+    private static final int LOTE_INSERCAO = 10_000;
+
+    @Param({ "1000", "100000", "1000000" })
+    private int pagamentos;
+
+    private ConfigurableApplicationContext contexto;
+    private PagamentoRepository pagamentoRepository;
+    private int estudantes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        contexto = new SpringApplicationBuilder(SistemaPagamentoBackendApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.profiles.active=benchmark",
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                        "--spring.flyway.enabled=false",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.properties.hibernate.generate_statistics=false");
+        pagamentoRepository = contexto.getBean(PagamentoRepository.class);
+        popular(contexto.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        contexto.close();
+    }
+
+    // Distribuição realista: 90% VALIDADO, 5% CRIADO, 5% RECUSADO, datas espalhadas em 3 anos
+    private void popular(JdbcTemplate jdbcTemplate) {
+        estudantes = Math.max(10, pagamentos / PAGAMENTOS_POR_ESTUDANTE);
+        List<Object[]> linhas = new ArrayList<>();
+        for (int i = 0; i < estudantes; i++) {
+            linhas.add(new Object[] { (long) i + 1, "E" + i, "Nome" + i, "Sobrenome" + i, "P" + (i % 20) });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO estudante (id, codigo, nome, sobrenome, programa_id, versao) VALUES (?, ?, ?, ?, ?, 0)", linhas);
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String[] tipos = { "DINHEIRO", "CHEQUE", "TRANSFERENCIA", "DEPOSITO" };
+        LocalDate inicio = LocalDate.now().minusYears(3);
+        linhas.clear();
+        for (int i = 0; i < pagamentos; i++) {
+            int sorteio = random.nextInt(100);
+            String status = sorteio < 5 ? "CRIADO" : sorteio < 10 ? "RECUSADO" : "VALIDADO";
+            linhas.add(new Object[] {
+                    (long) i + 1,
+                    Date.valueOf(inicio.plusDays(random.nextInt(3 * 365))),
+                    1000 + random.nextInt(20000),
+                    tipos[random.nextInt(tipos.length)],
+                    status,
+                    (long) random.nextInt(estudantes) + 1 });
+            if (linhas.size() == LOTE_INSERCAO || i == pagamentos - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO pagamento (id, data, valor, tipo_pagamento, pagamento_status, estudante_id, versao) VALUES (?, ?, ?, ?, ?, ?, 0)", linhas);
+                linhas.clear();
+            }
+        }
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Benchmark
+    public List<Pagamento> findByEstudanteCodigo() {
+        return pagamentoRepository.findByEstudanteCodigo("E" + ThreadLocalRandom.current().nextInt(estudantes));
+    }
+
+    @Benchmark
+    public List<PagamentoResumoDto> findResumoByEstudanteCodigo() {
+        return pagamentoRepository.findResumoByEstudanteCodigo("E" + ThreadLocalRandom.current().nextInt(estudantes));
+    }
+
+    @Benchmark
+    public List<Pagamento> paginaPorKeyset() {
+        return pagamentoRepository.findByIdGreaterThanOrderByIdAsc((long) ThreadLocalRandom.current().nextInt(pagamentos), Limit.of(50));
+    }
+
+    @Benchmark
+    public List<Pagamento> findByPagamentoStatusCriado() {
+        return pagamentoRepository.findByPagamentoStatus(PagamentoStatus.CRIADO);
+    }
+
+    @Benchmark
+    public List<AgregacaoPagamentoDto> agregarPorTipoEStatus() {
+        return pagamentoRepository.agregar(EnumSet.of(DimensaoAgregacao.TIPO, DimensaoAgregacao.STATUS), new FiltroAgregacaoDto());
+    }
+}
@@ -0,0 +1,83 @@
+package com.api.sistema_pagamento_backend.benchmarks;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.api.sistema_pagamento_backend.entities.Estudante;
+import com.api.sistema_pagamento_backend.entities.Pagamento;
+import com.api.sistema_pagamento_backend.enums.PagamentoStatus;
+import com.api.sistema_pagamento_backend.enums.TipoPagamento;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+/* Mede a serialização Jackson de List<Pagamento> com o Estudante aninhado, como nas respostas dos endpoints de listagem. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializacaoBenchmark {
+
+    @Param({ "100", "1000", "10000" })
+    private int quantidade;
+
+    private ObjectMapper objectMapper;
+    private List<Pagamento> pagamentos;
+
+    @Setup
+    public void setUp() {
+        // Mesma configuração de datas usada pelo ObjectMapper do Spring Boot
+        objectMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        List<Estudante> estudantes = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            estudantes.add(Estudante.builder().id((long) i).nome("Nome" + i).sobrenome("Sobrenome" + i).codigo("COD" + i).programaId("LTA1").build());
+        }
+
+        TipoPagamento[] tipos = TipoPagamento.values();
+        PagamentoStatus[] status = PagamentoStatus.values();
+        pagamentos = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            pagamentos.add(Pagamento.builder()
+                    .id((long) i)
+                    .data(LocalDate.of(2025, 1, 1).plusDays(i % 365))
+                    .valor(1000 + i)
+                    .tipoPagamento(tipos[i % tipos.length])
+                    .pagamentoStatus(status[i % status.length])
+                    .file("file:///comprovantes/ab/cd/" + i + ".pdf")
+                    .estudante(estudantes.get(i % estudantes.size()))
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public byte[] serializarLista() throws IOException {
+        return objectMapper.writeValueAsBytes(pagamentos);
+    }
+
+    @Benchmark
+    public void serializarListaEmStream() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), pagamentos);
+    }
+}
@@ -0,0 +1,53 @@
+package com.api.sistema_pagamento_backend.cache;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.api.sistema_pagamento_backend.entities.Estudante;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/* Listener JPA que invalida os caches de consulta de estudantes sempre que um Estudante é inserido, alterado ou removido. Como os
+ * estudantes quase nunca mudam, os caches são limpos por completo (evita manter chaves antigas quando o código ou o programa mudam).
+ * A limpeza é repetida após o commit para que uma leitura concorrente não recoloque no cache o valor anterior à transação.
+ * O Hibernate obtém esta instância pelo contêiner do Spring, por isso o CacheManager pode ser injetado. */
+public class EstudanteCacheListener {
+
+    public static final String ESTUDANTES_POR_CODIGO = "estudantesPorCodigo";
+    public static final String ESTUDANTES_POR_PROGRAMA = "estudantesPorPrograma";
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void invalidar(Estudante estudante) {
+        limparCaches();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    limparCaches();
+                }
+            });
+        }
+    }
+
+    private void limparCaches() {
+        if (cacheManager == null) {
+            return; // instanciado fora do contêiner do Spring (ex.: testes sem cache)
+        }
+        for (String nome : new String[] { ESTUDANTES_POR_CODIGO, ESTUDANTES_POR_PROGRAMA }) {
+            Cache cache = cacheManager.getCache(nome);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+}
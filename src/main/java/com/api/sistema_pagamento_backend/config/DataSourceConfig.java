@@ -0,0 +1,98 @@
+package com.api.sistema_pagamento_backend.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/* Separação entre escrita e leitura: as escritas vão para o primário (spring.datasource.*) e as transações readOnly (listagens, busca,
+ * agregação, metadados dos comprovantes) vão para as réplicas em pagamentos.datasource.replicas.urls. Sem réplicas configuradas esta
+ * configuração não é carregada e a aplicação usa o DataSource único do Spring Boot.
+ *
+ * O DataSource principal é um LazyConnectionDataSourceProxy: a conexão física só é obtida no primeiro comando SQL, quando a transação já
+ * marcou a conexão como somente leitura. Conexões somente leitura vêm do RoteamentoLeituraDataSource (réplicas em rodízio, ou o primário
+ * logo depois de uma escrita do mesmo cliente, ver LeituraAposEscritaFilter); as demais vêm do primário. O Flyway e as transações de
+ * escrita usam sempre o primário. */
+@Configuration
+@ConditionalOnProperty(name = "pagamentos.datasource.replicas.urls")
+public class DataSourceConfig {
+
+    @Value("${pagamentos.datasource.replicas.urls}")
+    private List<String> urlsReplicas;
+
+    @Value("${pagamentos.datasource.replicas.username:${spring.datasource.username:}}")
+    private String usuarioReplicas;
+
+    @Value("${pagamentos.datasource.replicas.password:${spring.datasource.password:}}")
+    private String senhaReplicas;
+
+    @Value("${pagamentos.datasource.replicas.maximum-pool-size:${spring.datasource.hikari.maximum-pool-size:10}}")
+    private int tamanhoPoolReplicas;
+
+    @Value("${pagamentos.datasource.replicas.janela-leitura-primaria:PT5S}")
+    private Duration janelaLeituraPrimaria;
+
+    // Pool do primário, com as mesmas propriedades spring.datasource.* e spring.datasource.hikari.* do DataSource padrão
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource primarioDataSource(DataSourceProperties properties) {
+        HikariDataSource primario = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primario.setPoolName("primario");
+        return primario;
+    }
+
+    // Um pool somente leitura por réplica, com as métricas publicadas no mesmo registro do pool do primário (hikaricp.*)
+    @Bean
+    RoteamentoLeituraDataSource leituraDataSource(HikariDataSource primarioDataSource, DataSourceProperties properties,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        List<DataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < urlsReplicas.size(); i++) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + i);
+            replica.setJdbcUrl(urlsReplicas.get(i).trim());
+            replica.setUsername(usuarioReplicas);
+            replica.setPassword(senhaReplicas);
+            replica.setDriverClassName(properties.determineDriverClassName());
+            replica.setMaximumPoolSize(tamanhoPoolReplicas);
+            replica.setConnectionTimeout(primarioDataSource.getConnectionTimeout());
+            replica.setReadOnly(true);
+            meterRegistry.ifAvailable(registry -> replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+            replicas.add(replica);
+        }
+        return new RoteamentoLeituraDataSource(primarioDataSource, replicas);
+    }
+
+    @Bean
+    @Primary
+    DataSource dataSource(HikariDataSource primarioDataSource, RoteamentoLeituraDataSource leituraDataSource) {
+        return roteamento(primarioDataSource, leituraDataSource);
+    }
+
+    @Bean
+    LeituraAposEscritaFilter leituraAposEscritaFilter() {
+        return new LeituraAposEscritaFilter(janelaLeituraPrimaria);
+    }
+
+    // Conexões de escrita vêm do primário; as marcadas como somente leitura antes do primeiro comando vêm do DataSource de leitura
+    static DataSource roteamento(DataSource primario, DataSource leitura) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primario);
+        proxy.setReadOnlyDataSource(leitura);
+        return proxy;
+    }
+}
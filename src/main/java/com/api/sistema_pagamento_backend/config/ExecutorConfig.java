@@ -0,0 +1,82 @@
+package com.api.sistema_pagamento_backend.config;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/* Executores da aplicação. Todos seguem a propriedade spring.threads.virtual.enabled, a mesma que o Spring Boot usa para as threads
+ * do Tomcat e do agendador: com ela ligada o trabalho bloqueante (JDBC, disco) roda em virtual threads; desligada, volta para threads
+ * de plataforma. */
+@Configuration
+public class ExecutorConfig implements WebMvcConfigurer {
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${comprovantes.io.threads:16}")
+    private int threadsComprovante;
+
+    @Value("${comprovantes.extracao.threads:2}")
+    private int threadsExtracao;
+
+    @Value("${comprovantes.extracao.fila:1000}")
+    private int filaExtracao;
+
+    @Value("${pagamentos.async.threads-maximas:200}")
+    private int threadsMvcAsync;
+
+    /* Executor dedicado à gravação dos comprovantes em disco. Cada tarefa roda em uma virtual thread, então uma cópia lenta de arquivo
+     * não ocupa uma thread do Tomcat nem uma conexão do pool do banco enquanto espera pelo disco. No modo de threads de plataforma é
+     * usado um pool fixo. */
+    @Bean(destroyMethod = "close")
+    ExecutorService comprovanteExecutor() {
+        if (virtualThreads) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("comprovante-io-", 0).factory());
+        }
+        return Executors.newFixedThreadPool(threadsComprovante, Thread.ofPlatform().name("comprovante-io-", 0).factory());
+    }
+
+    /* Executor do feed de eventos de pagamento: as requisições de long-poll e as conexões SSE passam a maior parte do tempo esperando por
+     * eventos novos. Com virtual threads cada espera custa pouca memória; no modo de threads de plataforma é usado um pool que cresce sob
+     * demanda, já que cada conexão SSE aberta ocupa uma thread. No encerramento as esperas são interrompidas (shutdownNow). */
+    @Bean(destroyMethod = "shutdownNow")
+    ExecutorService eventoExecutor() {
+        if (virtualThreads) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("evento-", 0).factory());
+        }
+        return Executors.newCachedThreadPool(Thread.ofPlatform().name("evento-", 0).daemon(true).factory());
+    }
+
+    /* Executor da extração dos metadados dos comprovantes (páginas, hash e miniatura). A leitura e a renderização do PDF usam CPU e
+     * memória, então o pool é pequeno e fixo, com threads de plataforma, mesmo no modo de virtual threads. A fila é limitada: quando está
+     * cheia o pedido é recusado (RejectedExecutionException) e o comprovante é processado depois pela varredura periódica dos pendentes. */
+    @Bean(destroyMethod = "shutdownNow")
+    ExecutorService extracaoExecutor() {
+        return new ThreadPoolExecutor(threadsExtracao, threadsExtracao, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(filaExtracao),
+                Thread.ofPlatform().name("comprovante-extracao-", 0).daemon(true).factory());
+    }
+
+    /* Executor das respostas assíncronas do Spring MVC (CompletableFuture, StreamingResponseBody). Cada resposta ganha uma thread nova; no
+     * modo de threads de plataforma a quantidade simultânea é limitada (como o pool do Tomcat) e, no limite, a requisição seguinte espera
+     * uma thread ser liberada em vez de criar mais uma. */
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("mvc-async-");
+        executor.setVirtualThreads(virtualThreads);
+        if (!virtualThreads) {
+            executor.setConcurrencyLimit(threadsMvcAsync);
+        }
+        configurer.setTaskExecutor(executor);
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.api.sistema_pagamento_backend.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/* Conversores dos formatos binários de resposta. O cliente escolhe o formato pelo cabeçalho Accept (application/cbor ou
+ * application/x-jackson-smile); sem ele a resposta continua em JSON. Os conversores são criados a partir do builder configurado pelo
+ * Spring Boot (um builder novo a cada injeção), então seguem as mesmas propriedades spring.jackson.* e os mesmos módulos do JSON.
+ * Nesses formatos as listas de pagamentos são enviadas na forma compacta (ver PagamentosCompactosAdvice). */
+@Configuration
+public class FormatoRespostaConfig {
+
+    @Bean
+    MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
@@ -0,0 +1,69 @@
+package com.api.sistema_pagamento_backend.config;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/* Leitura das próprias escritas com réplicas assíncronas. Toda requisição de escrita (POST, PUT, PATCH, DELETE, como o upload de um
+ * pagamento) devolve um cookie com o instante até o qual o cliente deve ler do primário; enquanto o cookie estiver válido, as leituras
+ * desse cliente não vão para as réplicas, que podem ainda não ter recebido a escrita. A janela deve ser maior que o atraso de replicação.
+ * O direcionamento vale para a thread da requisição; o trabalho feito em outros executores (long-poll, SSE) continua nas réplicas. */
+public class LeituraAposEscritaFilter extends OncePerRequestFilter {
+
+    static final String COOKIE = "leitura-primaria-ate";
+
+    private static final Set<String> METODOS_LEITURA = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final Duration janela;
+
+    public LeituraAposEscritaFilter(Duration janela) {
+        this.janela = janela;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long agora = System.currentTimeMillis();
+        if (!METODOS_LEITURA.contains(request.getMethod())) {
+            // O cookie é gravado antes do processamento, enquanto a resposta ainda não foi enviada (o upload responde de forma assíncrona)
+            Cookie cookie = new Cookie(COOKIE, Long.toString(agora + janela.toMillis()));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(janela.toSeconds(), 1));
+            response.addCookie(cookie);
+        } else if (lerDoPrimarioAte(request) <= agora) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        RoteamentoLeituraDataSource.usarPrimario();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RoteamentoLeituraDataSource.liberar();
+        }
+    }
+
+    private static long lerDoPrimarioAte(HttpServletRequest request) {
+        if (request.getCookies() != null) {
+            for (Cookie cookie : request.getCookies()) {
+                if (COOKIE.equals(cookie.getName())) {
+                    try {
+                        return Long.parseLong(cookie.getValue());
+                    } catch (NumberFormatException e) {
+                        return 0;
+                    }
+                }
+            }
+        }
+        return 0;
+    }
+}
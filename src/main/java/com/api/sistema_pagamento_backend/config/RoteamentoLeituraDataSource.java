@@ -0,0 +1,72 @@
+package com.api.sistema_pagamento_backend.config;
+
+import java.io.Closeable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/* DataSource das conexões somente leitura: distribui as conexões entre as réplicas em rodízio ou, quando a thread atual precisa ler o
+ * que acabou de escrever (usarPrimario), devolve uma conexão do primário. É usado como readOnlyDataSource do
+ * LazyConnectionDataSourceProxy (ver DataSourceConfig), então só recebe as transações marcadas com readOnly = true. */
+public class RoteamentoLeituraDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    private static final String PRIMARIO = "primario";
+
+    private static final ThreadLocal<Boolean> LEITURA_PRIMARIA = new ThreadLocal<>();
+
+    private final List<DataSource> replicas;
+    private final AtomicInteger proxima = new AtomicInteger();
+
+    public RoteamentoLeituraDataSource(DataSource primario, List<DataSource> replicas) {
+        this.replicas = replicas;
+        Map<Object, Object> destinos = new HashMap<>();
+        destinos.put(PRIMARIO, primario);
+        for (int i = 0; i < replicas.size(); i++) {
+            destinos.put(i, replicas.get(i));
+        }
+        setTargetDataSources(destinos);
+        setDefaultTargetDataSource(primario);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Método para direcionar as leituras da thread atual para o primário (leitura das próprias escritas), até liberar() ser chamado.
+     */
+    public static void usarPrimario() {
+        LEITURA_PRIMARIA.set(Boolean.TRUE);
+    }
+
+    /**
+     * Método para devolver as leituras da thread atual às réplicas.
+     */
+    public static void liberar() {
+        LEITURA_PRIMARIA.remove();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (replicas.isEmpty() || LEITURA_PRIMARIA.get() != null) {
+            return PRIMARIO;
+        }
+        return Math.floorMod(proxima.getAndIncrement(), replicas.size());
+    }
+
+    // Fecha os pools das réplicas; o pool do primário é um bean próprio e é fechado pelo Spring
+    @Override
+    public void close() {
+        for (DataSource replica : replicas) {
+            if (replica instanceof Closeable pool) {
+                try {
+                    pool.close();
+                } catch (Exception e) {
+                    logger.warn("Falha ao fechar o pool de uma réplica", e);
+                }
+            }
+        }
+    }
+}
@@ -1,27 +1,68 @@
 package com.api.sistema_pagamento_backend.controllers;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.api.sistema_pagamento_backend.dtos.AgregacaoPagamentoDto;
+import com.api.sistema_pagamento_backend.dtos.AtualizacaoStatusLoteDto;
+import com.api.sistema_pagamento_backend.dtos.AtualizacaoStatusLoteResultadoDto;
+import com.api.sistema_pagamento_backend.dtos.FiltroAgregacaoDto;
+import com.api.sistema_pagamento_backend.dtos.FiltroBuscaPagamentoDto;
+import com.api.sistema_pagamento_backend.dtos.ImportacaoResultadoDto;
+import com.api.sistema_pagamento_backend.dtos.PagamentoBuscaDto;
+import com.api.sistema_pagamento_backend.dtos.PagamentoResumoDto;
+import com.api.sistema_pagamento_backend.dtos.PaginaDto;
 import com.api.sistema_pagamento_backend.entities.Estudante;
+import com.api.sistema_pagamento_backend.entities.EventoPagamento;
+import com.api.sistema_pagamento_backend.entities.MetadadosComprovante;
 import com.api.sistema_pagamento_backend.entities.Pagamento;
+import com.api.sistema_pagamento_backend.entities.PagamentoArquivado;
+import com.api.sistema_pagamento_backend.enums.DetalhePagamento;
+import com.api.sistema_pagamento_backend.enums.DimensaoAgregacao;
+import com.api.sistema_pagamento_backend.enums.FormatoImportacao;
+import com.api.sistema_pagamento_backend.enums.OrdenacaoPagamento;
 import com.api.sistema_pagamento_backend.enums.PagamentoStatus;
 import com.api.sistema_pagamento_backend.enums.TipoPagamento;
+import com.api.sistema_pagamento_backend.exceptions.RequisicaoInvalidaException;
 import com.api.sistema_pagamento_backend.repositories.EstudanteRepository;
+import com.api.sistema_pagamento_backend.repositories.PagamentoArquivadoRepository;
 import com.api.sistema_pagamento_backend.repositories.PagamentoRepository;
+import com.api.sistema_pagamento_backend.services.AgregacaoPagamentoService;
+import com.api.sistema_pagamento_backend.services.AtualizacaoStatusLoteService;
+import com.api.sistema_pagamento_backend.services.EventoPagamentoService;
+import com.api.sistema_pagamento_backend.services.ImportacaoPagamentoService;
+import com.api.sistema_pagamento_backend.services.ExtracaoComprovanteService;
 import com.api.sistema_pagamento_backend.services.PagamentoService;
 
 
@@ -29,15 +70,53 @@ import com.api.sistema_pagamento_backend.services.PagamentoService;
 @CrossOrigin(origins = "*")
 public class PagamentoController {
 
+    // Tamanho da coluna chave_idempotencia.chave: chaves maiores seriam truncadas pelo INSERT IGNORE e poderiam colidir entre si
+    private static final int TAMANHO_MAXIMO_CHAVE_IDEMPOTENCIA = 255;
+
     @Autowired
     private EstudanteRepository estudanteRepository;
 
     @Autowired
     private PagamentoRepository pagamentoRepository;
 
+    @Autowired
+    private PagamentoArquivadoRepository pagamentoArquivadoRepository;
+
     @Autowired
     private PagamentoService pagamentoService;
 
+    @Autowired
+    private ImportacaoPagamentoService importacaoPagamentoService;
+
+    @Autowired
+    private AgregacaoPagamentoService agregacaoPagamentoService;
+
+    @Autowired
+    private AtualizacaoStatusLoteService atualizacaoStatusLoteService;
+
+    @Autowired
+    private EventoPagamentoService eventoPagamentoService;
+
+    @Autowired
+    private ExtracaoComprovanteService extracaoComprovanteService;
+
+    @Value("${estudantes.http-cache.max-age:PT1M}")
+    private Duration maxAgeEstudantes;
+
+    @Value("${pagamentos.http-cache.max-age:PT0S}")
+    private Duration maxAgePagamentos;
+
+    @Value("${comprovantes.http-cache.max-age:P365D}")
+    private Duration maxAgeComprovantes;
+
+    // Nome dos comprovantes endereçados por conteúdo: o SHA-256 do arquivo
+    private static final Pattern COMPROVANTE_POR_HASH = Pattern.compile("([0-9a-f]{64})\\.pdf");
+
+    /* ETags e Cache-Control das consultas. Os ETags são derivados das colunas de versão (@Version), calculados por uma consulta que não
+     * carrega as entidades; quando o If-None-Match da requisição coincide, o checkNotModified responde 304 sem corpo e a consulta completa
+     * nem é executada. Os ETags são fracos (W/) porque a mesma versão pode ser enviada em JSON, CBOR ou Smile, com ou sem gzip.
+     * O checkNotModified também grava o cabeçalho ETag na resposta 200, por isso ele não é repetido no ResponseEntity. */
+
 
     /**
      * Método para criar um novo pagamento.
@@ -46,39 +125,60 @@ public class PagamentoController {
      * @param tipoPagamento O tipo de pagamento (ex: cartão de crédito, débito, etc.).
      * @param data A data do pagamento.
      * @param codigoEstudante O código do estudante associado ao pagamento.
-     * @return O pagamento criado.
+     * @return O pagamento criado (a resposta é enviada de forma assíncrona, sem ocupar a thread da requisição durante a gravação do arquivo).
      * @throws Exception Se ocorrer algum erro durante o processamento do pagamento.
      */
     @PostMapping(path = "/pagamento", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    public Pagamento criarPagamento(@RequestParam("file") MultipartFile file, @RequestParam double valor, @RequestParam TipoPagamento tipoPagamento, @RequestParam LocalDate data, @RequestParam String codigoEstudante) throws Exception {
+    public CompletableFuture<Pagamento> criarPagamento(@RequestParam("file") MultipartFile file, @RequestParam double valor, @RequestParam TipoPagamento tipoPagamento, @RequestParam LocalDate data, @RequestParam String codigoEstudante) throws Exception {
         return pagamentoService.salvarPagamento(file, valor, tipoPagamento, data, codigoEstudante);
     }
 
+    /**
+     * Método para importar pagamentos em massa a partir de um arquivo CSV ou NDJSON enviado no corpo da requisição.
+     * @param contentType O tipo do conteúdo enviado (text/csv ou application/x-ndjson).
+     * @param delimitador O delimitador dos campos do CSV (',' ou ';'); quando não informado, é detectado pela primeira linha.
+     * @param conteudo O corpo da requisição, lido linha a linha.
+     * @return O resumo da importação, com as linhas rejeitadas e o motivo.
+     * @throws IOException Se ocorrer algum erro ao ler o corpo da requisição.
+     */
+    @PostMapping(path = "/pagamentos/importacao", consumes = { "text/csv", MediaType.APPLICATION_NDJSON_VALUE })
+    public ImportacaoResultadoDto importarPagamentos(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            @RequestParam(required = false) Character delimitador, InputStream conteudo) throws IOException {
+        FormatoImportacao formato = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.APPLICATION_NDJSON)
+                ? FormatoImportacao.NDJSON
+                : FormatoImportacao.CSV;
+        return importacaoPagamentoService.importarPagamentos(conteudo, formato, delimitador);
+    }
+
     /**
      * Método para listar todos os estudantes.
+     * @param webRequest A requisição, usada para responder 304 quando o cliente já tem a versão atual da lista.
      * @return Uma lista de todos os estudantes.
      */
     @GetMapping("/estudantes")
-    public List<Estudante> listarEstudantes() {
-        List<Estudante> estudantes = estudanteRepository.findAll();
-        if (estudantes.isEmpty()) {
-            return new ArrayList<>(); // Retorna uma lista vazia se não houver estudantes
+    public ResponseEntity<List<Estudante>> listarEstudantes(WebRequest webRequest) {
+        if (webRequest.checkNotModified(etagFraco("estudantes-" + estudanteRepository.findVersaoColecao()))) {
+            return naoModificado(maxAgeEstudantes);
         }
-        return estudantes;
+        return ResponseEntity.ok().cacheControl(cacheControl(maxAgeEstudantes)).varyBy(HttpHeaders.ACCEPT).body(estudanteRepository.findAll());
     }
 
     /**
      * Método para buscar um estudante específico pelo código.
      * @param codigo O código do estudante a ser buscado.
+     * @param webRequest A requisição, usada para responder 304 quando o cliente já tem a versão atual do estudante.
      * @return O estudante correspondente ao código fornecido.
      */
     @GetMapping("/estudantes/{codigo}")
-    public Estudante buscarEstudantePorCodigo(@PathVariable String codigo) {
-        Estudante estudante = estudanteRepository.findByCodigo(codigo);
+    public ResponseEntity<Estudante> buscarEstudantePorCodigo(@PathVariable String codigo, WebRequest webRequest) {
+        Estudante estudante = estudanteRepository.findByCodigo(codigo); // servido pelo cache, o ETag não custa uma consulta
         if (estudante == null) {
             throw new RuntimeException("Estudante não encontrado com o código: " + codigo);
         }
-        return estudante;
+        if (webRequest.checkNotModified(etagFraco("estudante-" + estudante.getId() + "." + estudante.getVersao()))) {
+            return naoModificado(maxAgeEstudantes);
+        }
+        return ResponseEntity.ok().cacheControl(cacheControl(maxAgeEstudantes)).varyBy(HttpHeaders.ACCEPT).body(estudante);
     }
 
     /**
@@ -96,40 +196,110 @@ public class PagamentoController {
     }
 
     /**
-     * Método para listar todos os pagamentos.
-     * @return Uma lista de todos os pagamentos.
+     * Método para listar os pagamentos de forma paginada.
+     * @param cursor O cursor devolvido na página anterior (omitido na primeira página).
+     * @param tamanho O tamanho da página (opcional, limitado pelo máximo configurado).
+     * @return A página de pagamentos com o cursor para a próxima página.
      */
     @GetMapping("/pagamentos")
-    public List<Pagamento> listarPagamentos() {
-        List<Pagamento> pagamentos = pagamentoRepository.findAll();
-        if (pagamentos.isEmpty()) {
-            return new ArrayList<>(); // Retorna uma lista vazia se não houver pagamentos
-        }
-        return pagamentos;
+    public PaginaDto<Pagamento> listarPagamentos(@RequestParam(required = false) String cursor, @RequestParam(required = false) Integer tamanho) {
+        return pagamentoService.listarPagamentos(cursor, tamanho);
+    }
+
+    /**
+     * Método para buscar pagamentos combinando filtros, com ordenação e paginação por keyset.
+     * @param filtro Os filtros opcionais (codigoEstudante, programaId, pagamentoStatus, tipoPagamento, dataInicio, dataFim, valorMinimo, valorMaximo).
+     * @param ordenarPor O campo de ordenação (ID, DATA ou VALOR).
+     * @param direcao A direção da ordenação (ASC ou DESC).
+     * @param incluir Os dados adicionais de cada pagamento, separados por vírgula (ESTUDANTE, FILE). Por padrão nenhum é incluído.
+     * @param cursor O cursor devolvido na página anterior (omitido na primeira página).
+     * @param tamanho O tamanho da página (opcional, limitado pelo máximo configurado).
+     * @return A página de pagamentos com o cursor para a próxima página.
+     */
+    @GetMapping("/pagamentos/busca")
+    public PaginaDto<PagamentoBuscaDto> buscarPagamentos(FiltroBuscaPagamentoDto filtro,
+            @RequestParam(defaultValue = "ID") OrdenacaoPagamento ordenarPor, @RequestParam(defaultValue = "ASC") Sort.Direction direcao,
+            @RequestParam(required = false) Set<DetalhePagamento> incluir,
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer tamanho) {
+        return pagamentoService.buscarPagamentos(filtro, ordenarPor, direcao, incluir, cursor, tamanho);
+    }
+
+    /**
+     * Método para exportar todos os pagamentos em NDJSON, escrevendo cada linha na resposta à medida que é lida do banco.
+     * @return O corpo da resposta em streaming.
+     */
+    @GetMapping(value = "/pagamentos/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportarPagamentos() {
+        StreamingResponseBody body = outputStream -> pagamentoService.exportarPagamentos(outputStream);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * Método para ler o feed de eventos de pagamento por long-poll: responde assim que houver eventos depois da posição informada, ou vazio
+     * quando a espera expira. O consumidor guarda a posição do último evento recebido e a envia na próxima requisição.
+     * @param aPartirDe A última posição já recebida (0 para ler desde o evento mais antigo retido).
+     * @param limite A quantidade máxima de eventos na resposta.
+     * @param espera O tempo máximo de espera por eventos novos, em segundos (0 responde imediatamente).
+     * @return Os eventos em ordem de posição.
+     */
+    @GetMapping("/pagamentos/eventos")
+    public CompletableFuture<List<EventoPagamento>> listarEventos(@RequestParam(defaultValue = "0") long aPartirDe,
+            @RequestParam(defaultValue = "100") int limite, @RequestParam(defaultValue = "25") long espera) {
+        return eventoPagamentoService.aguardarEventos(aPartirDe, limite, Duration.ofSeconds(espera));
+    }
+
+    /**
+     * Método para assinar o feed de eventos de pagamento por Server-Sent Events (o id de cada evento é a sua posição).
+     * @param ultimoEventoId O cabeçalho Last-Event-ID enviado pelo EventSource ao reconectar (tem prioridade sobre aPartirDe).
+     * @param aPartirDe A última posição já recebida, na primeira conexão.
+     * @return A conexão SSE.
+     */
+    @GetMapping(value = "/pagamentos/eventos/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter assinarEventos(@RequestHeader(name = "Last-Event-ID", required = false) Long ultimoEventoId,
+            @RequestParam(defaultValue = "0") long aPartirDe) {
+        return eventoPagamentoService.assinarEventos(ultimoEventoId != null ? ultimoEventoId : aPartirDe);
+    }
+
+    /**
+     * Método para agregar os pagamentos (quantidade, total e média) agrupados por qualquer combinação de dimensões.
+     * @param agruparPor As dimensões de agrupamento, separadas por vírgula (ex: TIPO,STATUS,MES). Sem dimensões, retorna o total geral.
+     * @param filtro Os filtros opcionais (codigoEstudante, programaId, tipoPagamento, pagamentoStatus, dataInicio, dataFim).
+     * @return Uma linha por grupo.
+     */
+    @GetMapping("/pagamentos/agregacao")
+    public List<AgregacaoPagamentoDto> agregarPagamentos(@RequestParam(required = false) Set<DimensaoAgregacao> agruparPor, FiltroAgregacaoDto filtro) {
+        return agregacaoPagamentoService.agregar(agruparPor, filtro);
     }
 
     /**
      * Método para buscar um pagamento específico pelo ID.
      * @param id O ID do pagamento a ser buscado.
+     * @param webRequest A requisição, usada para responder 304 quando nem o pagamento nem o seu estudante mudaram.
      * @return O pagamento correspondente ao ID fornecido.
      */
     @GetMapping("/pagamentos/{id}")
-    public Pagamento buscarPagamentoPorId(@PathVariable Long id) {
-        Pagamento pagamento = pagamentoRepository.findById(id).get();
-        if (pagamento == null) {
-            throw new RuntimeException("Pagamento não encontrado com o ID: " + id);
+    public ResponseEntity<Pagamento> buscarPagamentoPorId(@PathVariable Long id, WebRequest webRequest) {
+        // Pagamentos antigos que já foram arquivados são buscados no arquivo, com o mesmo ETag que tinham antes do arquivamento
+        String versao = pagamentoRepository.findVersaoById(id)
+                .or(() -> pagamentoArquivadoRepository.findVersaoById(id))
+                .orElseThrow(() -> new RuntimeException("Pagamento não encontrado com o ID: " + id));
+        if (webRequest.checkNotModified(etagFraco("pagamento-" + id + "." + versao))) {
+            return naoModificado(maxAgePagamentos);
         }
-        return pagamento;
+        Pagamento pagamento = pagamentoRepository.findById(id)
+                .or(() -> pagamentoArquivadoRepository.findById(id).map(PagamentoArquivado::paraPagamento))
+                .orElseThrow(() -> new RuntimeException("Pagamento não encontrado com o ID: " + id));
+        return ResponseEntity.ok().cacheControl(cacheControl(maxAgePagamentos)).varyBy(HttpHeaders.ACCEPT).body(pagamento);
     }
 
     /**
      * Método para listar pagamentos por código do estudante.
      * @param codigoEstudante O código do estudante a ser filtrado.
-     * @return Uma lista de pagamentos correspondentes ao código do estudante fornecido.
+     * @return Uma lista resumida dos pagamentos do estudante (o estudante já é identificado pelo caminho, então não é repetido em cada item).
      */
     @GetMapping("/estudantes/{codigoEstudante}/pagamentos")
-    public List<Pagamento> listarPagamentosPorCodigoEstudante(@PathVariable String codigoEstudante) {
-        List<Pagamento> pagamentos = pagamentoRepository.findByEstudanteCodigo(codigoEstudante);
+    public List<PagamentoResumoDto> listarPagamentosPorCodigoEstudante(@PathVariable String codigoEstudante) {
+        List<PagamentoResumoDto> pagamentos = pagamentoRepository.findResumoByEstudanteCodigo(codigoEstudante);
         if (pagamentos.isEmpty()) {
             return new ArrayList<>(); // Retorna uma lista vazia se não houver pagamentos
         }
@@ -152,17 +322,32 @@ public class PagamentoController {
 
     /**
      * Método para atualizar o status de um pagamento específico.
+     * Apenas as transições CRIADO → VALIDADO e CRIADO → RECUSADO são aceitas; conflitos são respondidos com 409.
      * @param pagamentoStatus O novo status do pagamento.
      * @param pagamentoId O ID do pagamento a ser atualizado.
+     * @param versao A versão do pagamento conhecida pelo cliente (opcional, para compare-and-set).
+     * @param chaveIdempotencia O valor do cabeçalho Idempotency-Key (opcional, até 255 caracteres), para que novas tentativas da mesma
+     * requisição não tenham efeito.
      * @return O pagamento atualizado.
      */
     @PutMapping("/pagamento/{pagamentoId}/atualizarPagamento")
-    public Pagamento atualizarPagamentoPorStatus(@RequestParam PagamentoStatus pagamentoStatus, @PathVariable Long pagamentoId) {
-        Pagamento pagamento = pagamentoService.atualizarPagamentoPorStatus(pagamentoStatus, pagamentoId);
-        if (pagamento == null) {
-            throw new RuntimeException("Pagamento não encontrado com o ID: " + pagamentoId);
+    public Pagamento atualizarPagamentoPorStatus(@RequestParam PagamentoStatus pagamentoStatus, @PathVariable Long pagamentoId,
+            @RequestParam(required = false) Long versao, @RequestHeader(name = "Idempotency-Key", required = false) String chaveIdempotencia) {
+        if (chaveIdempotencia != null && chaveIdempotencia.length() > TAMANHO_MAXIMO_CHAVE_IDEMPOTENCIA) {
+            throw new RequisicaoInvalidaException("O cabeçalho Idempotency-Key deve ter no máximo " + TAMANHO_MAXIMO_CHAVE_IDEMPOTENCIA + " caracteres");
         }
-        return pagamento;
+        return pagamentoService.atualizarPagamentoPorStatus(pagamentoStatus, pagamentoId, versao, chaveIdempotencia);
+    }
+
+    /**
+     * Método para atualizar o status de vários pagamentos de uma vez (validação em lote).
+     * As regras de transição são as mesmas da atualização individual.
+     * @param pedido O novo status e os IDs dos pagamentos, ou filtros (pagamentoStatus, tipoPagamento, dataInicio, dataFim) para selecioná-los.
+     * @return A quantidade de pagamentos atualizados e o resultado de cada pagamento.
+     */
+    @PostMapping("/pagamentos/atualizarStatus")
+    public AtualizacaoStatusLoteResultadoDto atualizarStatusEmLote(@RequestBody AtualizacaoStatusLoteDto pedido) {
+        return atualizacaoStatusLoteService.atualizarStatus(pedido);
     }
 
     /**
@@ -181,12 +366,78 @@ public class PagamentoController {
 
     /**
      * Método para listar o comprovante de pagamento por ID.
-     * @param id O ID do pagamento.
-     * @return O comprovante de pagamento como um array de bytes.
-     * @throws IOException Se ocorrer algum erro ao ler o arquivo.
+     * Suporta requisições parciais (Range) e condicionais (If-None-Match/If-Modified-Since), respondendo 206 ou 304 quando aplicável.
+     * O comprovante de um pagamento nunca muda depois do upload, então é servido como recurso imutável de longa duração.
+     * @param pagamentoId O ID do pagamento.
+     * @return O comprovante de pagamento transmitido diretamente do disco.
+     * @throws IOException Se ocorrer algum erro ao ler os metadados do arquivo.
      */
     @GetMapping(value = "/pagamentoArquivo/{pagamentoId}", produces = MediaType.APPLICATION_PDF_VALUE)
-    public byte[] listarArquivoPorId(@PathVariable Long pagamentoId) throws IOException {
-        return pagamentoService.obterComprovantePagamentoPorId(pagamentoId);
+    public ResponseEntity<Resource> listarArquivoPorId(@PathVariable Long pagamentoId) throws IOException {
+        Resource comprovante = pagamentoService.obterComprovantePagamentoPorId(pagamentoId);
+
+        /* Os comprovantes são endereçados por conteúdo: o nome do arquivo já é o SHA-256 e serve de ETag forte, sem ler o arquivo. Para os
+         * comprovantes gravados antes do armazenamento por hash, o ETag é derivado do tamanho e da data de modificação. O Spring compara o
+         * ETag com o If-None-Match da requisição e responde 304 sem corpo; o Content-Length, o Accept-Ranges e o recorte do Range são
+         * tratados pelo conversor de Resource. */
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_PDF)
+                .cacheControl(CacheControl.maxAge(maxAgeComprovantes).cachePrivate().immutable());
+
+        Matcher hash = COMPROVANTE_POR_HASH.matcher(String.valueOf(comprovante.getFilename()));
+        if (hash.matches()) {
+            return resposta.eTag("\"" + hash.group(1) + "\"").body(comprovante);
+        }
+        long tamanho = comprovante.contentLength();
+        long ultimaModificacao = comprovante.lastModified();
+        return resposta
+                .eTag("\"" + Long.toHexString(tamanho) + "-" + Long.toHexString(ultimaModificacao) + "\"")
+                .lastModified(ultimaModificacao)
+                .body(comprovante);
+    }
+
+    /**
+     * Método para buscar os metadados extraídos do comprovante de um pagamento (páginas, SHA-256, tamanho e referência da miniatura).
+     * @param pagamentoId O ID do pagamento.
+     * @return Os metadados do comprovante, ou 404 enquanto a extração em segundo plano não terminou.
+     */
+    @GetMapping("/pagamentoArquivo/{pagamentoId}/metadados")
+    public ResponseEntity<MetadadosComprovante> buscarMetadadosComprovante(@PathVariable Long pagamentoId) {
+        return ResponseEntity.of(extracaoComprovanteService.buscarMetadados(pagamentoId));
+    }
+
+    /**
+     * Método para obter a miniatura (PNG) da primeira página do comprovante de um pagamento, usada nas pré-visualizações das listagens.
+     * Assim como o comprovante, a miniatura não muda e é servida como recurso imutável, com o SHA-256 do comprovante no ETag.
+     * @param pagamentoId O ID do pagamento.
+     * @return A miniatura, ou 404 enquanto a extração não terminou ou quando o comprovante não pôde ser lido.
+     * @throws IOException Se ocorrer algum erro ao ler o arquivo da miniatura.
+     */
+    @GetMapping(value = "/pagamentoArquivo/{pagamentoId}/miniatura", produces = MediaType.IMAGE_PNG_VALUE)
+    public ResponseEntity<Resource> obterMiniaturaComprovante(@PathVariable Long pagamentoId) throws IOException {
+        MetadadosComprovante metadados = extracaoComprovanteService.buscarMetadados(pagamentoId).orElse(null);
+        if (metadados == null || metadados.getMiniatura() == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.IMAGE_PNG)
+                .cacheControl(CacheControl.maxAge(maxAgeComprovantes).cachePrivate().immutable())
+                .eTag("\"" + metadados.getSha256() + "-miniatura\"")
+                .body(extracaoComprovanteService.carregarMiniatura(metadados));
+    }
+
+    private String etagFraco(String versao) {
+        return "W/\"" + versao + "\"";
+    }
+
+    // Sem max-age o cliente revalida a cada uso (no-cache); as respostas são privadas porque trazem dados dos estudantes
+    private CacheControl cacheControl(Duration maxAge) {
+        return maxAge.isZero() ? CacheControl.noCache().cachePrivate() : CacheControl.maxAge(maxAge).cachePrivate();
+    }
+
+    /* Resposta 304: o ETag já foi gravado pelo checkNotModified, mas o Cache-Control e o Vary também precisam ser repetidos, como na
+     * resposta 200 (RFC 9110, seção 15.4.5); sem eles o cache do cliente perderia o max-age ao revalidar. */
+    private <T> ResponseEntity<T> naoModificado(Duration maxAge) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl(maxAge)).varyBy(HttpHeaders.ACCEPT).build();
     }
 }
@@ -0,0 +1,76 @@
+package com.api.sistema_pagamento_backend.controllers;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import com.api.sistema_pagamento_backend.dtos.PagamentoCompactoDto;
+import com.api.sistema_pagamento_backend.dtos.PagamentosCompactosDto;
+import com.api.sistema_pagamento_backend.dtos.PaginaDto;
+import com.api.sistema_pagamento_backend.entities.Estudante;
+import com.api.sistema_pagamento_backend.entities.Pagamento;
+
+/* Quando a resposta é escrita em CBOR ou Smile, as listas de pagamentos (List<Pagamento> e PaginaDto<Pagamento>) são convertidas para a
+ * forma compacta: cada estudante aparece uma única vez na tabela "estudantes" e os pagamentos o referenciam pelo ID. Em uma lista com
+ * poucos estudantes e muitos pagamentos isso evita repetir nome, sobrenome, código, programa e foto em cada item. As respostas em JSON
+ * não mudam. */
+@RestControllerAdvice(assignableTypes = PagamentoController.class)
+public class PagamentosCompactosAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        boolean formatoBinario = MappingJackson2CborHttpMessageConverter.class.isAssignableFrom(converterType)
+                || MappingJackson2SmileHttpMessageConverter.class.isAssignableFrom(converterType);
+        return formatoBinario && devolvePagamentos(ResolvableType.forMethodParameter(returnType));
+    }
+
+    // Decide pelo tipo declarado do método, para que uma lista vazia também seja enviada na forma compacta
+    private boolean devolvePagamentos(ResolvableType tipo) {
+        Class<?> classe = tipo.resolve(Object.class);
+        return (List.class.isAssignableFrom(classe) || PaginaDto.class.isAssignableFrom(classe))
+                && Pagamento.class.equals(tipo.getGeneric(0).resolve());
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType, ServerHttpRequest request, ServerHttpResponse response) {
+        if (body instanceof PaginaDto<?> pagina) {
+            PagamentosCompactosDto compacto = compactar(pagina.getConteudo());
+            compacto.setTamanho(pagina.getTamanho());
+            compacto.setProximoCursor(pagina.getProximoCursor());
+            return compacto;
+        }
+        if (body instanceof List<?> lista) {
+            return compactar(lista);
+        }
+        return body;
+    }
+
+    private PagamentosCompactosDto compactar(List<?> lista) {
+        PagamentosCompactosDto compacto = new PagamentosCompactosDto();
+        Map<Long, Estudante> estudantes = new LinkedHashMap<>();
+        for (Object item : lista) {
+            Pagamento pagamento = (Pagamento) item;
+            Estudante estudante = pagamento.getEstudante();
+            Long estudanteId = estudante == null ? null : estudante.getId();
+            if (estudanteId != null) {
+                estudantes.putIfAbsent(estudanteId, estudante);
+            }
+            compacto.getPagamentos().add(new PagamentoCompactoDto(pagamento.getId(), pagamento.getData(), pagamento.getValor(),
+                    pagamento.getTipoPagamento(), pagamento.getPagamentoStatus(), pagamento.getFile(), pagamento.getVersao(), estudanteId));
+        }
+        compacto.getEstudantes().addAll(estudantes.values());
+        return compacto;
+    }
+}
@@ -0,0 +1,26 @@
+package com.api.sistema_pagamento_backend.dtos;
+
+import com.api.sistema_pagamento_backend.enums.PagamentoStatus;
+import com.api.sistema_pagamento_backend.enums.TipoPagamento;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL) // as dimensões que não fazem parte do agrupamento não são enviadas
+public class AgregacaoPagamentoDto {
+
+    private String codigoEstudante;
+    private String programaId;
+    private TipoPagamento tipoPagamento;
+    private PagamentoStatus pagamentoStatus;
+    private String periodo;       // "2025-03" quando agrupado por MES, "2025" quando agrupado por ANO
+    private long quantidade;
+    private double total;
+    private double media;
+
+}
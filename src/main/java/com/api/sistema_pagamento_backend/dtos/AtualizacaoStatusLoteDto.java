@@ -0,0 +1,25 @@
+package com.api.sistema_pagamento_backend.dtos;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.api.sistema_pagamento_backend.enums.PagamentoStatus;
+import com.api.sistema_pagamento_backend.enums.TipoPagamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AtualizacaoStatusLoteDto {
+
+    private PagamentoStatus novoStatus;       // status de destino (VALIDADO ou RECUSADO)
+    private List<Long> ids;                   // IDs dos pagamentos; quando vazio, os pagamentos são selecionados pelos filtros abaixo
+    private PagamentoStatus pagamentoStatus;  // filtro: status atual (padrão: o status de origem da transição)
+    private TipoPagamento tipoPagamento;      // filtro: tipo do pagamento
+    private LocalDate dataInicio;             // filtro: data inicial (inclusive)
+    private LocalDate dataFim;                // filtro: data final (inclusive)
+
+}
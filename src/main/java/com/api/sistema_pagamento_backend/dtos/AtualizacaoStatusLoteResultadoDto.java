@@ -0,0 +1,19 @@
+package com.api.sistema_pagamento_backend.dtos;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AtualizacaoStatusLoteResultadoDto {
+
+    private long totalPagamentos;                                          // pagamentos processados
+    private long atualizados;                                              // pagamentos que mudaram de status
+    private List<ResultadoAtualizacaoStatusDto> resultados = new ArrayList<>(); // resultado de cada pagamento, na ordem processada
+
+}
@@ -0,0 +1,15 @@
+package com.api.sistema_pagamento_backend.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ErroImportacaoDto {
+
+    private long linha;       // número da linha no arquivo enviado (começando em 1)
+    private String mensagem;  // motivo pelo qual a linha não foi importada
+
+}
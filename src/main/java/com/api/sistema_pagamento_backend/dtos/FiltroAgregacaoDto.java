@@ -0,0 +1,25 @@
+package com.api.sistema_pagamento_backend.dtos;
+
+import java.time.LocalDate;
+
+import com.api.sistema_pagamento_backend.enums.PagamentoStatus;
+import com.api.sistema_pagamento_backend.enums.TipoPagamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class FiltroAgregacaoDto {
+
+    // Todos os filtros são opcionais; os informados são combinados com AND
+    private String codigoEstudante;
+    private String programaId;
+    private TipoPagamento tipoPagamento;
+    private PagamentoStatus pagamentoStatus;
+    private LocalDate dataInicio;
+    private LocalDate dataFim;
+
+}
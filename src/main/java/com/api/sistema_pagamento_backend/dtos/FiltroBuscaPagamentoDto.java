@@ -0,0 +1,27 @@
+package com.api.sistema_pagamento_backend.dtos;
+
+import java.time.LocalDate;
+
+import com.api.sistema_pagamento_backend.enums.PagamentoStatus;
+import com.api.sistema_pagamento_backend.enums.TipoPagamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class FiltroBuscaPagamentoDto {
+
+    // Todos os filtros são opcionais; os informados são combinados com AND. Os intervalos incluem os limites.
+    private String codigoEstudante;
+    private String programaId;
+    private PagamentoStatus pagamentoStatus;
+    private TipoPagamento tipoPagamento;
+    private LocalDate dataInicio;
+    private LocalDate dataFim;
+    private Double valorMinimo;
+    private Double valorMaximo;
+
+}
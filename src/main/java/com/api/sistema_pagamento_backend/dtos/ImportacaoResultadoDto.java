@@ -0,0 +1,19 @@
+package com.api.sistema_pagamento_backend.dtos;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportacaoResultadoDto {
+
+    private long totalLinhas;                                // linhas de dados lidas (sem cabeçalho e linhas em branco)
+    private long importados;                                 // pagamentos inseridos com sucesso
+    private List<ErroImportacaoDto> erros = new ArrayList<>(); // linhas rejeitadas e o motivo
+
+}
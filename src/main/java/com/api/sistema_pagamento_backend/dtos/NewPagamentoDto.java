@@ -16,6 +16,6 @@ public class NewPagamentoDto {
     private double valor;
     private TipoPagamento tipoPagamento;
     private LocalDate data;
-    private Long codigoEstudante;
+    private String codigoEstudante;
     
 }
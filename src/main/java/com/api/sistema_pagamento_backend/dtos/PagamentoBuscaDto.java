@@ -0,0 +1,31 @@
+package com.api.sistema_pagamento_backend.dtos;
+
+import java.time.LocalDate;
+
+import com.api.sistema_pagamento_backend.entities.Estudante;
+import com.api.sistema_pagamento_backend.enums.PagamentoStatus;
+import com.api.sistema_pagamento_backend.enums.TipoPagamento;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/* Projeção da busca de pagamentos: por padrão traz apenas as colunas do pagamento e o código do estudante. O caminho do comprovante e o
+ * registro completo do estudante só são selecionados (e serializados) quando pedidos no parâmetro "incluir". */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PagamentoBuscaDto {
+
+    private Long id;
+    private LocalDate data;
+    private double valor;
+    private TipoPagamento tipoPagamento;
+    private PagamentoStatus pagamentoStatus;
+    private String codigoEstudante;
+    private String file;
+    private Estudante estudante;
+
+}
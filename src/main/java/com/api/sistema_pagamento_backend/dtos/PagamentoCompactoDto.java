@@ -0,0 +1,28 @@
+package com.api.sistema_pagamento_backend.dtos;
+
+import java.time.LocalDate;
+
+import com.api.sistema_pagamento_backend.enums.PagamentoStatus;
+import com.api.sistema_pagamento_backend.enums.TipoPagamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/* Pagamento na forma compacta: o estudante é referenciado pelo ID, e os dados dele são enviados uma única vez na tabela de estudantes
+ * de PagamentosCompactosDto. */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PagamentoCompactoDto {
+
+    private Long id;
+    private LocalDate data;
+    private double valor;
+    private TipoPagamento tipoPagamento;
+    private PagamentoStatus pagamentoStatus;
+    private String file;
+    private Long versao;
+    private Long estudanteId;
+
+}
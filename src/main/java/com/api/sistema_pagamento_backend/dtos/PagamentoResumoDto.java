@@ -0,0 +1,26 @@
+package com.api.sistema_pagamento_backend.dtos;
+
+import java.time.LocalDate;
+
+import com.api.sistema_pagamento_backend.enums.PagamentoStatus;
+import com.api.sistema_pagamento_backend.enums.TipoPagamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/* Projeção leve de Pagamento: traz apenas as colunas do pagamento e o código do estudante, sem carregar a entidade Estudante nem o
+ * caminho do comprovante. Usada pelos endpoints em que o estudante já é conhecido pelo cliente. */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PagamentoResumoDto {
+
+    private Long id;
+    private LocalDate data;
+    private double valor;
+    private TipoPagamento tipoPagamento;
+    private PagamentoStatus pagamentoStatus;
+    private String codigoEstudante;
+
+}
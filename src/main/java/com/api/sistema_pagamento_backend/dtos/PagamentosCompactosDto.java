@@ -0,0 +1,24 @@
+package com.api.sistema_pagamento_backend.dtos;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.api.sistema_pagamento_backend.entities.Estudante;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PagamentosCompactosDto {
+
+    private List<Estudante> estudantes = new ArrayList<>();                 // estudantes distintos referenciados pelos pagamentos
+    private List<PagamentoCompactoDto> pagamentos = new ArrayList<>();      // pagamentos com o estudante substituído por estudanteId
+    private Integer tamanho;                                                // tamanho de página (apenas nas respostas paginadas)
+    private String proximoCursor;                                           // cursor da próxima página (apenas nas respostas paginadas)
+
+}
@@ -0,0 +1,18 @@
+package com.api.sistema_pagamento_backend.dtos;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PaginaDto<T> {
+
+    private List<T> conteudo;      // itens da página atual
+    private int tamanho;           // tamanho de página utilizado na consulta
+    private String proximoCursor;  // token opaco para buscar a próxima página (null quando não há mais itens)
+
+}
@@ -0,0 +1,20 @@
+package com.api.sistema_pagamento_backend.dtos;
+
+import com.api.sistema_pagamento_backend.enums.ResultadoAtualizacaoStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ResultadoAtualizacaoStatusDto {
+
+    private Long id;                              // ID do pagamento
+    private ResultadoAtualizacaoStatus resultado; // o que aconteceu com o pagamento
+    private String mensagem;                      // detalhe, quando o pagamento não foi atualizado
+
+}
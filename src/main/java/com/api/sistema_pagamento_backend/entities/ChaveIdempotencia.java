@@ -0,0 +1,34 @@
+package com.api.sistema_pagamento_backend.entities;
+
+import java.time.LocalDateTime;
+
+import com.api.sistema_pagamento_backend.enums.PagamentoStatus;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/* Registro das chaves de idempotência (cabeçalho Idempotency-Key) usadas nas mudanças de status. A chave é gravada na mesma transação da
+ * mudança: uma nova tentativa com a mesma chave encontra o registro e devolve o pagamento sem aplicar a mudança outra vez. Os registros
+ * são removidos depois do período de retenção. */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ChaveIdempotencia {
+
+    @Id
+    private String chave;
+
+    private Long pagamentoId;
+
+    @Enumerated(EnumType.STRING)
+    private PagamentoStatus pagamentoStatus;
+
+    private LocalDateTime criadoEm;
+
+}
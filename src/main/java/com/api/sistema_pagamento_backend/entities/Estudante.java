@@ -1,10 +1,21 @@
 package com.api.sistema_pagamento_backend.entities;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import com.api.sistema_pagamento_backend.cache.EstudanteCacheListener;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -16,6 +27,11 @@ import lombok.NoArgsConstructor;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"}) // ignora os campos internos do proxy do Hibernate na serialização
+@EntityListeners(EstudanteCacheListener.class)                  // invalida os caches de consulta de estudantes a cada escrita
+@Cacheable                                                       // elegível ao cache de segundo nível do Hibernate, quando habilitado
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(indexes = @Index(name = "idx_estudante_programa_id", columnList = "programaId"))
 public class Estudante {
 
     @Id
@@ -29,4 +45,8 @@ public class Estudante {
     private String programaId;
     private String foto;
 
+    // Versão incrementada a cada alteração (concorrência otimista); também compõe os ETags das respostas com o estudante
+    @Version
+    private Long versao;
+
 }
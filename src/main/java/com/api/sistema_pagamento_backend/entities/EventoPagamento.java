@@ -0,0 +1,57 @@
+package com.api.sistema_pagamento_backend.entities;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.api.sistema_pagamento_backend.enums.PagamentoStatus;
+import com.api.sistema_pagamento_backend.enums.TipoEventoPagamento;
+import com.api.sistema_pagamento_backend.enums.TipoPagamento;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/* Tabela de saída (outbox) dos eventos de pagamento. O evento é gravado na mesma transação que cria ou altera o pagamento, então nunca
+ * existe uma mudança sem evento nem um evento de uma mudança desfeita. A posição é atribuída depois, pelo RelayEventoPagamentoService,
+ * na ordem de publicação: é o offset sequencial e sem lacunas que os consumidores usam para retomar a leitura. Eventos ainda sem
+ * posição não foram publicados. */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(indexes = @Index(name = "uk_evento_pagamento_posicao", columnList = "posicao", unique = true))
+public class EventoPagamento {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long posicao;
+    private Long pagamentoId;
+
+    @Enumerated(EnumType.STRING)
+    private TipoEventoPagamento tipoEvento;
+
+    @Enumerated(EnumType.STRING)
+    private PagamentoStatus statusAnterior;
+
+    @Enumerated(EnumType.STRING)
+    private PagamentoStatus pagamentoStatus;
+
+    @Enumerated(EnumType.STRING)
+    private TipoPagamento tipoPagamento;
+
+    private double valor;
+    private LocalDate data;
+    private String codigoEstudante;
+    private LocalDateTime criadoEm;
+
+}
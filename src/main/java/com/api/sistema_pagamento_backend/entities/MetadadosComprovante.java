@@ -0,0 +1,35 @@
+package com.api.sistema_pagamento_backend.entities;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/* Metadados de um comprovante, extraídos em segundo plano depois do upload (ExtracaoComprovanteService). A chave é a referência do
+ * arquivo (Pagamento.file), então o mesmo PDF enviado em vários pagamentos é processado uma única vez. Quando o arquivo não pode ser lido
+ * como PDF, o motivo fica em "erro" e a extração não é repetida. */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MetadadosComprovante {
+
+    @Id
+    private String referencia;
+
+    private String sha256;              // hash do conteúdo, em hexadecimal
+
+    private Long tamanho;               // tamanho do arquivo em bytes
+
+    private Integer paginas;            // quantidade de páginas do PDF
+
+    private String miniatura;           // referência da imagem PNG da primeira página
+
+    private String erro;                // motivo da falha na extração (nulo quando a extração foi concluída)
+
+    private LocalDateTime processadoEm;
+
+}
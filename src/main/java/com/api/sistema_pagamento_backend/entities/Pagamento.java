@@ -6,10 +6,17 @@ import com.api.sistema_pagamento_backend.enums.PagamentoStatus;
 import com.api.sistema_pagamento_backend.enums.TipoPagamento;
 
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -20,19 +27,41 @@ import lombok.NoArgsConstructor;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
+@Table(indexes = {   // o esquema é versionado pelo Flyway (db/migration); os índices são repetidos aqui apenas como documentação
+        @Index(name = "idx_pagamento_estudante_data", columnList = "estudante_id, data"),
+        @Index(name = "idx_pagamento_status", columnList = "pagamentoStatus"),
+        @Index(name = "idx_pagamento_tipo", columnList = "tipoPagamento"),
+        @Index(name = "idx_pagamento_file", columnList = "file")
+})
 public class Pagamento {
     
-     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY) 
+    /* O ID é gerado por sequence com otimizador pooled: o Hibernate reserva 100 IDs por ida ao banco e consegue agrupar os INSERTs em
+     * batch (com IDENTITY cada INSERT precisa ser executado imediatamente para obter o ID). No MySQL a sequence é emulada pela tabela
+     * "pagamento_seq", que é o único gerador de IDs da tabela: os INSERTs feitos por JDBC reservam os IDs pelo SequenciaPagamentoRepository. */
+    public static final int ALOCACAO_IDS = 100;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pagamento_seq")
+    @SequenceGenerator(name = "pagamento_seq", sequenceName = "pagamento_seq", allocationSize = ALOCACAO_IDS)
     private Long id;
 
     private LocalDate data;
     private double valor;
+
+    @Enumerated(EnumType.STRING) // no MySQL é mapeado para uma coluna ENUM nativa
     private TipoPagamento tipoPagamento;
+
+    @Enumerated(EnumType.STRING)
     private PagamentoStatus pagamentoStatus;
+
     private String file;
 
-    // Muitos pagamentos podem pertencer a uma único estudante
-    @ManyToOne
+    // Versão para controle de concorrência otimista: toda alteração incrementa o valor e falha se outra requisição alterou a linha antes
+    @Version
+    private Long versao;
+
+    // Muitos pagamentos podem pertencer a uma único estudante. O carregamento é LAZY: as consultas que precisam do estudante o buscam
+    // no mesmo SELECT através de entity graph (ver PagamentoRepository), evitando um SELECT extra por estudante (N+1).
+    @ManyToOne(fetch = FetchType.LAZY)
     private Estudante estudante;
 }
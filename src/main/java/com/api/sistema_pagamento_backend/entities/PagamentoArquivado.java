@@ -0,0 +1,88 @@
+package com.api.sistema_pagamento_backend.entities;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.api.sistema_pagamento_backend.enums.PagamentoStatus;
+import com.api.sistema_pagamento_backend.enums.TipoPagamento;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.ManyToOne;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/* Pagamento movido para o arquivo pela rotina de arquivamento (ArquivamentoPagamentoService). Tem as mesmas colunas do Pagamento, com o
+ * ID original preservado, e "file" aponta para o comprovante dentro do arquivo compactado do mês. No MySQL a tabela é particionada por
+ * ano (ver V8__arquivo_pagamento.sql). Os pagamentos arquivados são somente leitura. */
+@Entity
+@Builder
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PagamentoArquivado {
+
+    @Id
+    private Long id;
+
+    private LocalDate data;
+    private double valor;
+
+    @Enumerated(EnumType.STRING)
+    private TipoPagamento tipoPagamento;
+
+    @Enumerated(EnumType.STRING)
+    private PagamentoStatus pagamentoStatus;
+
+    private String file;
+
+    private Long versao;                // versão do pagamento no momento do arquivamento (usada no ETag)
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    private Estudante estudante;
+
+    private LocalDateTime arquivadoEm;
+
+    /**
+     * Método para criar o registro de arquivo de um pagamento.
+     * @param pagamento O pagamento a ser arquivado.
+     * @param file A referência do comprovante no arquivo compactado.
+     * @param arquivadoEm O instante do arquivamento.
+     * @return O pagamento arquivado.
+     */
+    public static PagamentoArquivado de(Pagamento pagamento, String file, LocalDateTime arquivadoEm) {
+        return PagamentoArquivado.builder()
+                .id(pagamento.getId())
+                .data(pagamento.getData())
+                .valor(pagamento.getValor())
+                .tipoPagamento(pagamento.getTipoPagamento())
+                .pagamentoStatus(pagamento.getPagamentoStatus())
+                .file(file)
+                .versao(pagamento.getVersao())
+                .estudante(pagamento.getEstudante())
+                .arquivadoEm(arquivadoEm)
+                .build();
+    }
+
+    /**
+     * Método para montar o pagamento (não gerenciado) a partir do registro arquivado, para as respostas dos endpoints de consulta.
+     * @return O pagamento com os dados arquivados.
+     */
+    public Pagamento paraPagamento() {
+        return Pagamento.builder()
+                .id(id)
+                .data(data)
+                .valor(valor)
+                .tipoPagamento(tipoPagamento)
+                .pagamentoStatus(pagamentoStatus)
+                .file(file)
+                .versao(versao)
+                .estudante(estudante)
+                .build();
+    }
+}
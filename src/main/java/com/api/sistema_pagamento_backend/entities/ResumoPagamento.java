@@ -0,0 +1,24 @@
+package com.api.sistema_pagamento_backend.entities;
+
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/* Tabela de resumo mantida de forma incremental: a cada pagamento criado ou mudança de status, a linha do grupo
+ * (mês, programa, tipo, status) tem a quantidade e o total atualizados na mesma transação. Os painéis que agrupam apenas por essas
+ * dimensões leem daqui em vez de percorrer a tabela de pagamentos. */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ResumoPagamento {
+
+    @EmbeddedId
+    private ResumoPagamentoId id;
+
+    private long quantidade;
+    private double total;
+
+}
@@ -0,0 +1,30 @@
+package com.api.sistema_pagamento_backend.entities;
+
+import java.io.Serializable;
+
+import com.api.sistema_pagamento_backend.enums.PagamentoStatus;
+import com.api.sistema_pagamento_backend.enums.TipoPagamento;
+
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Embeddable
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ResumoPagamentoId implements Serializable {
+
+    private int anoMes;          // ano * 100 + mês da data do pagamento (ex: 202503); 0 quando o pagamento não tem data
+    private String programaId;   // programa do estudante ("" quando não informado)
+
+    @Enumerated(EnumType.STRING)
+    private TipoPagamento tipoPagamento;
+
+    @Enumerated(EnumType.STRING)
+    private PagamentoStatus pagamentoStatus;
+
+}
@@ -0,0 +1,8 @@
+package com.api.sistema_pagamento_backend.enums;
+
+public enum DetalhePagamento {
+    ESTUDANTE, FILE;
+
+    // ESTUDANTE: Inclui o registro completo do estudante em cada pagamento da busca.
+    // FILE: Inclui a referência do comprovante do pagamento.
+}
@@ -0,0 +1,12 @@
+package com.api.sistema_pagamento_backend.enums;
+
+public enum DimensaoAgregacao {
+    ESTUDANTE, PROGRAMA, TIPO, STATUS, MES, ANO;
+
+    // ESTUDANTE: agrupa pelo código do estudante.
+    // PROGRAMA: agrupa pelo programaId do estudante.
+    // TIPO: agrupa pelo tipo do pagamento.
+    // STATUS: agrupa pelo status do pagamento.
+    // MES: agrupa pelo mês da data do pagamento (ex: 2025-03).
+    // ANO: agrupa pelo ano da data do pagamento (ex: 2025).
+}
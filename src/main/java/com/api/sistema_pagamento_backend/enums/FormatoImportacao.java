@@ -0,0 +1,8 @@
+package com.api.sistema_pagamento_backend.enums;
+
+public enum FormatoImportacao {
+    CSV, NDJSON;
+
+    // CSV: uma linha por pagamento no formato "valor,tipoPagamento,data,codigoEstudante" (cabeçalho opcional, data em yyyy-MM-dd).
+    // NDJSON: um objeto JSON de NewPagamentoDto por linha.
+}
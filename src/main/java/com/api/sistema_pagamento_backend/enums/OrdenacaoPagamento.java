@@ -0,0 +1,18 @@
+package com.api.sistema_pagamento_backend.enums;
+
+public enum OrdenacaoPagamento {
+    ID("id"), DATA("data"), VALOR("valor");
+
+    // Campos pelos quais a busca de pagamentos pode ser ordenada. O ID é sempre usado como desempate, o que mantém a ordem estável
+    // entre as páginas da paginação por keyset.
+
+    private final String atributo;
+
+    OrdenacaoPagamento(String atributo) {
+        this.atributo = atributo;
+    }
+
+    public String getAtributo() {
+        return atributo;
+    }
+}
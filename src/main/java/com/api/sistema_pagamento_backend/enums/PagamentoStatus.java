@@ -6,4 +6,23 @@ public enum PagamentoStatus {
     // CRIADO: O pagamento foi criado, mas ainda não foi validado.
     // VALIDADO: O pagamento foi validado e está em processamento.
     // RECUSADO: O pagamento foi recusado por algum motivo (ex: saldo insuficiente, dados inválidos, etc.).
+
+    // Máquina de estados: apenas CRIADO → VALIDADO e CRIADO → RECUSADO. VALIDADO e RECUSADO são estados finais.
+
+    /**
+     * Método para obter o status a partir do qual um pagamento pode passar para este status.
+     * @return O status de origem, ou nulo quando nenhuma transição leva a este status (caso do CRIADO).
+     */
+    public PagamentoStatus origem() {
+        return this == CRIADO ? null : CRIADO;
+    }
+
+    /**
+     * Método para verificar se a transição deste status para o status informado é permitida.
+     * @param destino O status de destino.
+     * @return true se a transição é permitida.
+     */
+    public boolean permiteTransicaoPara(PagamentoStatus destino) {
+        return destino != null && destino.origem() == this;
+    }
 }
@@ -0,0 +1,11 @@
+package com.api.sistema_pagamento_backend.enums;
+
+public enum ResultadoAtualizacaoStatus {
+    ATUALIZADO, JA_NO_STATUS, TRANSICAO_INVALIDA, NAO_ENCONTRADO, ERRO;
+
+    // ATUALIZADO: O status do pagamento foi alterado.
+    // JA_NO_STATUS: O pagamento já estava no status pedido; nada foi alterado.
+    // TRANSICAO_INVALIDA: O status atual do pagamento não permite a transição (ex: RECUSADO → VALIDADO).
+    // NAO_ENCONTRADO: Não existe pagamento com o ID informado.
+    // ERRO: O lote do pagamento foi desfeito por uma falha no banco de dados.
+}
@@ -0,0 +1,8 @@
+package com.api.sistema_pagamento_backend.enums;
+
+public enum TipoEventoPagamento {
+    CRIADO, STATUS_ALTERADO;
+
+    // CRIADO: Um pagamento foi criado (upload individual ou importação em massa).
+    // STATUS_ALTERADO: O status do pagamento mudou (atualização individual ou em lote).
+}
@@ -0,0 +1,73 @@
+package com.api.sistema_pagamento_backend.eventos;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import com.api.sistema_pagamento_backend.entities.EventoPagamento;
+
+/* Barramento de eventos em memória. O relay entrega aqui os eventos recém-publicados, que são:
+ * - repassados aos listeners do Spring (@EventListener EventoPagamento) dentro da aplicação;
+ * - sinalizados às requisições de long-poll e às conexões SSE que aguardam uma posição nova.
+ * O barramento guarda apenas a última posição publicada; os eventos em si são sempre lidos da tabela, que é a fonte da verdade.
+ * Com várias instâncias da aplicação, os eventos publicados por outra instância só são percebidos quando a espera expira.
+ * A espera usa ReentrantLock em vez de synchronized para não fixar (pinning) as virtual threads. */
+@Component
+public class BarramentoEventosPagamento {
+
+    @Autowired
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition novaPosicao = lock.newCondition();
+    private long ultimaPosicao;
+
+    /**
+     * Método para entregar os eventos publicados pelo relay (em ordem de posição).
+     * @param eventos Os eventos publicados.
+     */
+    public void publicar(List<EventoPagamento> eventos) {
+        if (eventos.isEmpty()) {
+            return;
+        }
+        eventos.forEach(applicationEventPublisher::publishEvent);
+
+        lock.lock();
+        try {
+            ultimaPosicao = Math.max(ultimaPosicao, eventos.get(eventos.size() - 1).getPosicao());
+            novaPosicao.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Método para aguardar a publicação de um evento depois da posição informada.
+     * @param posicao A última posição já lida pelo consumidor.
+     * @param espera O tempo máximo de espera.
+     * @return true se um evento novo foi publicado, false se a espera expirou.
+     */
+    public boolean aguardar(long posicao, Duration espera) {
+        long restante = espera.toNanos();
+        lock.lock();
+        try {
+            while (ultimaPosicao <= posicao) {
+                if (restante <= 0) {
+                    return false;
+                }
+                restante = novaPosicao.awaitNanos(restante);
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
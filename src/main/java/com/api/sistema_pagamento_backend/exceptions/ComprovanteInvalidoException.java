@@ -0,0 +1,14 @@
+package com.api.sistema_pagamento_backend.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/* Lançada quando o arquivo enviado como comprovante não é um PDF (os primeiros bytes não são a assinatura %PDF-) ou excede o tamanho
+ * máximo configurado. É respondida com 400 Bad Request e o arquivo parcialmente gravado é descartado. */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class ComprovanteInvalidoException extends RuntimeException {
+
+    public ComprovanteInvalidoException(String mensagem) {
+        super(mensagem);
+    }
+}
@@ -0,0 +1,14 @@
+package com.api.sistema_pagamento_backend.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/* Lançada quando os parâmetros de uma requisição estão incompletos ou inválidos (ex.: atualização em lote sem novo status, sem IDs e
+ * sem filtros). É respondida com 400 Bad Request, já que repetir a mesma requisição não muda o resultado. */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class RequisicaoInvalidaException extends RuntimeException {
+
+    public RequisicaoInvalidaException(String mensagem) {
+        super(mensagem);
+    }
+}
@@ -0,0 +1,15 @@
+package com.api.sistema_pagamento_backend.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/* Lançada quando a mudança de status de um pagamento não é permitida pela máquina de estados, quando o pagamento foi alterado por outra
+ * requisição entre a leitura e a escrita (versão ou status diferentes do esperado) ou quando uma chave de idempotência é reutilizada com
+ * outros parâmetros. É respondida com 409 Conflict para que o cliente recarregue o pagamento em vez de repetir a requisição. */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class TransicaoStatusException extends RuntimeException {
+
+    public TransicaoStatusException(String mensagem) {
+        super(mensagem);
+    }
+}
@@ -0,0 +1,238 @@
+package com.api.sistema_pagamento_backend.gerador;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.api.sistema_pagamento_backend.enums.PagamentoStatus;
+import com.api.sistema_pagamento_backend.enums.TipoPagamento;
+import com.api.sistema_pagamento_backend.repositories.SequenciaPagamentoRepository;
+import com.api.sistema_pagamento_backend.services.AgregacaoPagamentoService;
+import com.api.sistema_pagamento_backend.storage.ComprovanteStorage;
+
+import lombok.extern.slf4j.Slf4j;
+
+/* Gerador de dados para desenvolvimento e testes de desempenho (substitui o antigo seeder do perfil "dev").
+ *
+ * Roda na inicialização com o perfil "dev" ou "gerador" e só quando o banco ainda não tem estudantes. Os valores padrão geram uma
+ * base pequena para desenvolvimento; o perfil "gerador" (application-gerador.properties) gera milhões de pagamentos:
+ *
+ *   APP_PROFILE=dev,gerador mvn spring-boot:run
+ *
+ * Os registros são gravados com INSERTs em lote pelo JdbcTemplate (rewriteBatchedStatements=true na URL do banco), sem passar pelo
+ * Hibernate, e a mesma semente gera sempre a mesma base. */
+@Slf4j
+@Component
+@Profile({ "dev", "gerador" })
+public class GeradorDados implements CommandLineRunner {
+
+    private static final String[] NOMES = { "Vanessa", "Talita", "Rafael", "Ana", "Bruno", "Carla", "Diego", "Eduarda", "Felipe",
+            "Gabriela", "Henrique", "Isabela", "João", "Larissa", "Marcos", "Natália", "Otávio", "Paula", "Ricardo", "Sofia" };
+    private static final String[] SOBRENOMES = { "Mota", "Cunha", "Nunes", "Silva", "Souza", "Oliveira", "Santos", "Lima", "Pereira",
+            "Costa", "Ferreira", "Almeida", "Ribeiro", "Carvalho", "Gomes", "Martins", "Rocha", "Barbosa" };
+
+    // Distribuição dos tipos de pagamento, em pontos percentuais na ordem de TipoPagamento (DINHEIRO, CHEQUE, TRANSFERENCIA, DEPOSITO)
+    private static final int[] PESOS_TIPO = { 12, 6, 57, 25 };
+
+    // Distribuição dos status na ordem de PagamentoStatus (CRIADO, VALIDADO, RECUSADO): os pagamentos recentes ainda aguardam validação,
+    // os antigos quase todos já foram validados ou recusados
+    private static final int[] PESOS_STATUS_RECENTE = { 55, 38, 7 };
+    private static final int[] PESOS_STATUS_ANTIGO = { 2, 90, 8 };
+    private static final int DIAS_RECENTE = 30;
+
+    private static final String INSERT_ESTUDANTE = "INSERT INTO estudante (codigo, nome, sobrenome, programa_id) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_PAGAMENTO =
+            "INSERT INTO pagamento (id, data, valor, tipo_pagamento, pagamento_status, file, estudante_id) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ComprovanteStorage comprovanteStorage;
+
+    @Autowired
+    private AgregacaoPagamentoService agregacaoPagamentoService;
+
+    @Autowired
+    private SequenciaPagamentoRepository sequenciaPagamentoRepository;
+
+    @Value("${gerador.estudantes:3}")
+    private int estudantes;
+
+    @Value("${gerador.programas:1}")
+    private int programas;
+
+    @Value("${gerador.pagamentos:30}")
+    private long pagamentos;
+
+    @Value("${gerador.comprovantes:3}")
+    private int comprovantes;
+
+    @Value("${gerador.periodo:P1Y}")
+    private Period periodo;
+
+    @Value("${gerador.tamanho-lote:5000}")
+    private int tamanhoLote;
+
+    @Value("${gerador.semente:42}")
+    private long semente;
+
+    @Override
+    public void run(String... args) throws Exception {
+        Long existentes = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM estudante", Long.class);
+        if (existentes != null && existentes > 0) {
+            log.info("Gerador de dados: o banco já tem {} estudantes, nada foi gerado", existentes);
+            return;
+        }
+
+        long inicio = System.nanoTime();
+        Random random = new Random(semente);
+
+        inserirEstudantes(random);
+        List<Long> idsEstudantes = jdbcTemplate.queryForList("SELECT id FROM estudante ORDER BY id", Long.class);
+        List<String> referencias = gravarComprovantes();
+        inserirPagamentos(random, idsEstudantes, referencias);
+
+        // Recalcula a tabela de resumo usada pelo endpoint de agregação
+        agregacaoPagamentoService.reconstruirResumo();
+
+        log.info("Gerador de dados: {} estudantes em {} programas, {} pagamentos e {} comprovantes gerados em {} s", estudantes,
+                programas, pagamentos, referencias.size(), (System.nanoTime() - inicio) / 1_000_000_000);
+    }
+
+    /**
+     * Método para inserir os estudantes em lotes. Os programas têm tamanhos desiguais: o sorteio favorece os primeiros programas.
+     * @param random O gerador de números aleatórios.
+     */
+    private void inserirEstudantes(Random random) {
+        List<Object[]> lote = new ArrayList<>(Math.min(tamanhoLote, estudantes));
+        for (int i = 0; i < estudantes; i++) {
+            int programa = (int) (programas * Math.pow(random.nextDouble(), 2)); // distribuição quadrática: programas grandes e pequenos
+            lote.add(new Object[] { String.valueOf(100000 + i), NOMES[random.nextInt(NOMES.length)],
+                    SOBRENOMES[random.nextInt(SOBRENOMES.length)], "LTA" + (programa + 1) });
+            if (lote.size() == tamanhoLote) {
+                jdbcTemplate.batchUpdate(INSERT_ESTUDANTE, lote);
+                lote.clear();
+            }
+        }
+        if (!lote.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_ESTUDANTE, lote);
+        }
+    }
+
+    /**
+     * Método para inserir os pagamentos em lotes, com datas, valores, tipos e status distribuídos de forma realista. Os IDs são reservados
+     * de uma vez na sequence do Hibernate (pagamento.id não tem AUTO_INCREMENT).
+     * @param random O gerador de números aleatórios.
+     * @param idsEstudantes Os IDs dos estudantes aos quais os pagamentos são atribuídos.
+     * @param referencias As referências dos comprovantes de exemplo, distribuídas entre os pagamentos.
+     */
+    private void inserirPagamentos(Random random, List<Long> idsEstudantes, List<String> referencias) {
+        if (idsEstudantes.isEmpty()) {
+            return;
+        }
+        LocalDate hoje = LocalDate.now();
+        long dias = ChronoUnit.DAYS.between(hoje.minus(periodo), hoje);
+        TipoPagamento[] tipos = TipoPagamento.values();
+        PagamentoStatus[] status = PagamentoStatus.values();
+        long intervaloLog = Math.max(pagamentos / 10, tamanhoLote);
+        long proximoId = pagamentos > 0 ? sequenciaPagamentoRepository.reservar(pagamentos) : 0;
+
+        List<Object[]> lote = new ArrayList<>((int) Math.min(tamanhoLote, pagamentos));
+        for (long i = 0; i < pagamentos; i++) {
+            // Idade com densidade decrescente: o volume de pagamentos cresce linearmente até hoje
+            long idade = (long) (dias * (1 - Math.sqrt(random.nextDouble())));
+            // Valor com distribuição log-normal (mediana de 1500, cauda longa), em centavos inteiros
+            double valor = Math.round(1500 * Math.exp(0.6 * random.nextGaussian()) * 100) / 100.0;
+            int[] pesosStatus = idade < DIAS_RECENTE ? PESOS_STATUS_RECENTE : PESOS_STATUS_ANTIGO;
+
+            lote.add(new Object[] {
+                    proximoId++,
+                    Date.valueOf(hoje.minusDays(idade)),
+                    valor,
+                    tipos[sortear(random, PESOS_TIPO)].name(),
+                    status[sortear(random, pesosStatus)].name(),
+                    referencias.isEmpty() ? null : referencias.get(random.nextInt(referencias.size())),
+                    idsEstudantes.get(random.nextInt(idsEstudantes.size())) });
+
+            if (lote.size() == tamanhoLote) {
+                jdbcTemplate.batchUpdate(INSERT_PAGAMENTO, lote);
+                lote.clear();
+            }
+            if ((i + 1) % intervaloLog == 0) {
+                log.info("Gerador de dados: {} de {} pagamentos inseridos", i + 1, pagamentos);
+            }
+        }
+        if (!lote.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_PAGAMENTO, lote);
+        }
+    }
+
+    /**
+     * Método para gravar os comprovantes de exemplo (PDFs de uma página) no armazenamento de comprovantes.
+     * @return As referências dos comprovantes gravados.
+     * @throws IOException Se ocorrer algum erro ao gerar ou gravar um PDF.
+     */
+    private List<String> gravarComprovantes() throws IOException {
+        List<String> referencias = new ArrayList<>(comprovantes);
+        PDType1Font fonte = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+        for (int i = 0; i < comprovantes; i++) {
+            ByteArrayOutputStream saida = new ByteArrayOutputStream();
+            try (PDDocument documento = new PDDocument()) {
+                PDPage pagina = new PDPage(PDRectangle.A4);
+                documento.addPage(pagina);
+                try (PDPageContentStream conteudo = new PDPageContentStream(documento, pagina)) {
+                    conteudo.beginText();
+                    conteudo.setFont(fonte, 14);
+                    conteudo.newLineAtOffset(72, 770);
+                    conteudo.showText("Comprovante de pagamento de exemplo " + (i + 1));
+                    conteudo.endText();
+                }
+                documento.save(saida);
+            }
+            referencias.add(comprovanteStorage.salvar(new ByteArrayInputStream(saida.toByteArray())));
+        }
+        return referencias;
+    }
+
+    /**
+     * Método para sortear um índice de acordo com os pesos informados.
+     * @param random O gerador de números aleatórios.
+     * @param pesos Os pesos de cada índice.
+     * @return O índice sorteado.
+     */
+    private static int sortear(Random random, int[] pesos) {
+        int total = 0;
+        for (int peso : pesos) {
+            total += peso;
+        }
+        int sorteio = random.nextInt(total);
+        for (int i = 0; i < pesos.length; i++) {
+            sorteio -= pesos[i];
+            if (sorteio < 0) {
+                return i;
+            }
+        }
+        return pesos.length - 1;
+    }
+}
@@ -0,0 +1,71 @@
+package com.api.sistema_pagamento_backend.metricas;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+
+import io.micrometer.core.instrument.Timer;
+
+/* Resource que mede a leitura do conteúdo de outro Resource: o tempo vai da abertura do fluxo até o seu fechamento, ou seja, cobre a cópia
+ * do arquivo para a resposta feita pelo Spring MVC depois que o controller retorna. Uma resposta 304 não abre o fluxo e não é medida; uma
+ * requisição com vários intervalos (Range) registra uma leitura por intervalo. O tamanho, a data e o nome são repassados ao Resource
+ * original; o acesso direto ao arquivo (getFile) não é exposto, para que toda leitura passe pelo fluxo medido. */
+public class LeituraMedidaResource extends AbstractResource {
+
+    private final Resource resource;
+    private final MetricasPagamento metricasPagamento;
+    private final String nome;
+
+    public LeituraMedidaResource(Resource resource, MetricasPagamento metricasPagamento, String nome) {
+        this.resource = resource;
+        this.metricasPagamento = metricasPagamento;
+        this.nome = nome;
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        Timer.Sample amostra = metricasPagamento.iniciar();
+        AtomicBoolean fechado = new AtomicBoolean();
+        return new FilterInputStream(resource.getInputStream()) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    if (fechado.compareAndSet(false, true)) {
+                        metricasPagamento.registrar(amostra, nome);
+                    }
+                }
+            }
+        };
+    }
+
+    @Override
+    public boolean exists() {
+        return resource.exists();
+    }
+
+    @Override
+    public long contentLength() throws IOException {
+        return resource.contentLength();
+    }
+
+    @Override
+    public long lastModified() throws IOException {
+        return resource.lastModified();
+    }
+
+    @Override
+    public String getFilename() {
+        return resource.getFilename();
+    }
+
+    @Override
+    public String getDescription() {
+        return resource.getDescription();
+    }
+}
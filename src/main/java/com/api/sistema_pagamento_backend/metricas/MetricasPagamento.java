@@ -0,0 +1,57 @@
+package com.api.sistema_pagamento_backend.metricas;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.api.sistema_pagamento_backend.enums.PagamentoStatus;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/* Métricas de negócio dos pagamentos, publicadas no endpoint /actuator/prometheus. Todas começam com "pagamento." e têm histograma
+ * de percentis habilitado pela propriedade management.metrics.distribution.percentiles-histogram.pagamento.
+ * As requisições HTTP (http.server.requests), os métodos dos repositórios (spring.data.repository.invocations), o pool Hikari e as
+ * estatísticas do Hibernate são instrumentados automaticamente pelo Spring Boot. */
+@Component
+public class MetricasPagamento {
+
+    public static final String GRAVACAO_COMPROVANTE = "pagamento.comprovante.gravacao";
+    public static final String LEITURA_COMPROVANTE = "pagamento.comprovante.leitura";
+    public static final String EXTRACAO_COMPROVANTE = "pagamento.comprovante.extracao";
+    public static final String BYTES_UPLOAD = "pagamento.upload.bytes";
+    public static final String TRANSICOES_STATUS = "pagamento.status.transicoes";
+    public static final String ARQUIVADOS = "pagamento.arquivados";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Inicia a medição de uma operação; a amostra é encerrada com registrar(amostra, nome)
+    public Timer.Sample iniciar() {
+        return Timer.start(meterRegistry);
+    }
+
+    public void registrar(Timer.Sample amostra, String nome) {
+        amostra.stop(meterRegistry.timer(nome));
+    }
+
+    // Soma os bytes recebidos nos uploads de comprovantes
+    public void registrarUpload(long bytes) {
+        meterRegistry.counter(BYTES_UPLOAD).increment(bytes);
+    }
+
+    // Conta os pagamentos movidos para o arquivo
+    public void registrarArquivamento(long quantidade) {
+        meterRegistry.counter(ARQUIVADOS).increment(quantidade);
+    }
+
+    // Conta as transições de status (de = NENHUM na criação do pagamento)
+    public void registrarTransicao(PagamentoStatus de, PagamentoStatus para) {
+        registrarTransicoes(de, para, 1);
+    }
+
+    // Conta várias transições iguais de uma vez (atualização de status em lote)
+    public void registrarTransicoes(PagamentoStatus de, PagamentoStatus para, long quantidade) {
+        meterRegistry.counter(TRANSICOES_STATUS, "de", de == null ? "NENHUM" : de.name(), "para", para == null ? "NENHUM" : para.name())
+                .increment(quantidade);
+    }
+}
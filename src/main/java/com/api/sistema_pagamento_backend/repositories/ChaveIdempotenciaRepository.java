@@ -0,0 +1,30 @@
+package com.api.sistema_pagamento_backend.repositories;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.api.sistema_pagamento_backend.entities.ChaveIdempotencia;
+
+@Repository
+public interface ChaveIdempotenciaRepository extends JpaRepository<ChaveIdempotencia, String> {
+
+    /* Reserva a chave, retornando 0 se ela já existe. Uma requisição concorrente com a mesma chave fica bloqueada no índice da chave
+     * primária até a primeira transação terminar: se ela confirmar, a segunda recebe 0 e trata a requisição como repetição; se ela for
+     * desfeita, a segunda grava a chave e aplica a mudança. O INSERT IGNORE também transforma em aviso o erro de valor longo demais (a
+     * chave seria truncada), por isso o tamanho da chave é validado antes, no controller. */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO chave_idempotencia (chave, pagamento_id, pagamento_status, criado_em) "
+            + "VALUES (:chave, :pagamentoId, :pagamentoStatus, :criadoEm)",
+            nativeQuery = true)
+    int reservar(String chave, Long pagamentoId, String pagamentoStatus, LocalDateTime criadoEm);
+
+    // Remove as chaves gravadas antes do instante informado
+    @Modifying
+    @Query("delete from ChaveIdempotencia c where c.criadoEm < :limite")
+    int removerAnterioresA(LocalDateTime limite);
+
+}
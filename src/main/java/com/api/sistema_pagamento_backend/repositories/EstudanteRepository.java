@@ -1,19 +1,40 @@
 package com.api.sistema_pagamento_backend.repositories;
 
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.api.sistema_pagamento_backend.cache.EstudanteCacheListener;
 import com.api.sistema_pagamento_backend.entities.Estudante;
 
 @Repository
 public interface EstudanteRepository extends JpaRepository<Estudante, Long> {
 
+    /* As buscas por código e por programa são servidas pelo cache (Caffeine, limitado por tamanho e TTL). As entradas são invalidadas
+     * pelo EstudanteCacheListener sempre que um estudante é gravado. O @Cacheable é usado sem "sync = true": a consulta JDBC de um
+     * cache miss não roda dentro do bloqueio do mapa do cache, evitando fixar (pinning) a virtual thread durante o acesso ao banco. */
+
     // Buscando estudante por código
+    @Cacheable(EstudanteCacheListener.ESTUDANTES_POR_CODIGO)
     Estudante findByCodigo(String codigo);
 
     // Busca uma lista de estudantes por programa
+    @Cacheable(EstudanteCacheListener.ESTUDANTES_POR_PROGRAMA)
     List<Estudante> findByProgramaId(String programaId);
 
+    // Busca os estudantes de vários códigos em uma única consulta (usado na importação em massa)
+    List<Estudante> findByCodigoIn(Collection<String> codigos);
+
+    // Versão da coleção inteira de estudantes (quantidade, maior ID e soma das versões), que muda a cada inclusão, alteração ou exclusão.
+    // Usada no ETag de /estudantes sem carregar nem serializar os estudantes; somente leitura, como o findAll da listagem (réplicas).
+    @Transactional(readOnly = true)
+    @Query("select concat(cast(count(e) as String), '-', cast(coalesce(max(e.id), 0) as String), '-', cast(coalesce(sum(e.versao), 0) as String)) "
+            + "from Estudante e")
+    String findVersaoColecao();
+
 }
@@ -0,0 +1,50 @@
+package com.api.sistema_pagamento_backend.repositories;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.api.sistema_pagamento_backend.entities.EventoPagamento;
+
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface EventoPagamentoRepository extends JpaRepository<EventoPagamento, Long> {
+
+    /* Grava um evento por pagamento informado com um único INSERT ... SELECT, copiando o estado atual do pagamento (status, tipo, valor,
+     * data e código do estudante). Deve ser chamado depois da escrita do pagamento, na mesma transação; as alterações pendentes do
+     * contexto de persistência são enviadas ao banco antes. */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO evento_pagamento (pagamento_id, tipo_evento, status_anterior, pagamento_status, tipo_pagamento, valor, data, codigo_estudante, criado_em) "
+            + "SELECT p.id, :tipoEvento, :statusAnterior, p.pagamento_status, p.tipo_pagamento, p.valor, p.data, e.codigo, :criadoEm "
+            + "FROM pagamento p LEFT JOIN estudante e ON e.id = p.estudante_id "
+            + "WHERE p.id IN (:pagamentoIds) ORDER BY p.id",
+            nativeQuery = true)
+    int registrar(Collection<Long> pagamentoIds, String tipoEvento, String statusAnterior, LocalDateTime criadoEm);
+
+    // Busca e trava os próximos eventos ainda não publicados, na ordem em que foram gravados
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<EventoPagamento> findByPosicaoIsNullOrderByIdAsc(Limit limit);
+
+    // Última posição já atribuída (0 quando nenhum evento foi publicado)
+    @Query("select coalesce(max(e.posicao), 0) from EventoPagamento e")
+    long findUltimaPosicao();
+
+    // Busca os eventos publicados depois da posição informada, em ordem de posição
+    List<EventoPagamento> findByPosicaoGreaterThanOrderByPosicaoAsc(Long posicao, Limit limit);
+
+    /* Remove os eventos publicados antes do instante informado, exceto os de posição maior ou igual a manterAPartirDe. A limpeza sempre
+     * preserva o último evento publicado: como a próxima posição é calculada a partir da maior posição existente, apagar todos os eventos
+     * faria as posições recomeçarem em 1 e os consumidores que guardaram um offset maior deixariam de receber eventos. */
+    @Modifying
+    @Query("delete from EventoPagamento e where e.posicao is not null and e.criadoEm < :limite and e.posicao < :manterAPartirDe")
+    int removerPublicadosAntesDe(LocalDateTime limite, long manterAPartirDe);
+
+}
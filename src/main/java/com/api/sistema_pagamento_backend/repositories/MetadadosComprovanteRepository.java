@@ -0,0 +1,26 @@
+package com.api.sistema_pagamento_backend.repositories;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.api.sistema_pagamento_backend.entities.MetadadosComprovante;
+
+@Repository
+public interface MetadadosComprovanteRepository extends JpaRepository<MetadadosComprovante, String> {
+
+    // Busca os metadados do comprovante de um pagamento (vazio enquanto a extração não terminou)
+    @Query("select m from MetadadosComprovante m, Pagamento p where p.id = :pagamentoId and m.referencia = p.file")
+    Optional<MetadadosComprovante> findByPagamentoId(Long pagamentoId);
+
+    /* Lista comprovantes referenciados por pagamentos que ainda não têm metadados: uploads cuja extração foi perdida (reinício da aplicação,
+     * fila cheia) e comprovantes gravados antes da extração existir. A consulta percorre o índice idx_pagamento_file. */
+    @Query("select distinct p.file from Pagamento p where p.file is not null "
+            + "and not exists (select 1 from MetadadosComprovante m where m.referencia = p.file)")
+    List<String> findReferenciasSemMetadados(Limit limit);
+
+}
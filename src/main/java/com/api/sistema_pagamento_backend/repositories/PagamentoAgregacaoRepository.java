@@ -0,0 +1,16 @@
+package com.api.sistema_pagamento_backend.repositories;
+
+import java.util.List;
+import java.util.Set;
+
+import com.api.sistema_pagamento_backend.dtos.AgregacaoPagamentoDto;
+import com.api.sistema_pagamento_backend.dtos.FiltroAgregacaoDto;
+import com.api.sistema_pagamento_backend.enums.DimensaoAgregacao;
+
+// Fragmento do PagamentoRepository com as consultas de agregação montadas dinamicamente (implementado em PagamentoAgregacaoRepositoryImpl)
+public interface PagamentoAgregacaoRepository {
+
+    // Agrupa os pagamentos pelas dimensões informadas e calcula quantidade, total e média com GROUP BY no banco
+    List<AgregacaoPagamentoDto> agregar(Set<DimensaoAgregacao> dimensoes, FiltroAgregacaoDto filtro);
+
+}
@@ -0,0 +1,139 @@
+package com.api.sistema_pagamento_backend.repositories;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.api.sistema_pagamento_backend.dtos.AgregacaoPagamentoDto;
+import com.api.sistema_pagamento_backend.dtos.FiltroAgregacaoDto;
+import com.api.sistema_pagamento_backend.entities.Estudante;
+import com.api.sistema_pagamento_backend.entities.Pagamento;
+import com.api.sistema_pagamento_backend.entities.PagamentoArquivado;
+import com.api.sistema_pagamento_backend.enums.DimensaoAgregacao;
+import com.api.sistema_pagamento_backend.enums.PagamentoStatus;
+import com.api.sistema_pagamento_backend.enums.TipoPagamento;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+/* Agregação dos pagamentos por GROUP BY. Os pagamentos arquivados (PagamentoArquivado) também são contados, como na tabela de resumo:
+ * a mesma consulta roda na tabela principal e no arquivo, que têm os mesmos atributos, e os grupos das duas são somados. Assim o total
+ * de uma pergunta não depende de ela ser respondida pelo resumo ou por esta consulta. */
+public class PagamentoAgregacaoRepositoryImpl implements PagamentoAgregacaoRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<AgregacaoPagamentoDto> agregar(Set<DimensaoAgregacao> dimensoes, FiltroAgregacaoDto filtro) {
+        Map<List<Object>, AgregacaoPagamentoDto> grupos = new LinkedHashMap<>();
+        for (Class<?> entidade : List.of(Pagamento.class, PagamentoArquivado.class)) {
+            for (AgregacaoPagamentoDto dto : agregar(entidade, dimensoes, filtro)) {
+                List<Object> chave = Arrays.asList(dto.getCodigoEstudante(), dto.getProgramaId(), dto.getTipoPagamento(),
+                        dto.getPagamentoStatus(), dto.getPeriodo());
+                AgregacaoPagamentoDto grupo = grupos.putIfAbsent(chave, dto);
+                if (grupo != null) {
+                    grupo.setQuantidade(grupo.getQuantidade() + dto.getQuantidade());
+                    grupo.setTotal(grupo.getTotal() + dto.getTotal());
+                    grupo.setMedia(grupo.getQuantidade() == 0 ? 0 : grupo.getTotal() / grupo.getQuantidade());
+                }
+            }
+        }
+        return new ArrayList<>(grupos.values());
+    }
+
+    // Executa o GROUP BY em uma das tabelas de pagamentos (principal ou arquivo)
+    private List<AgregacaoPagamentoDto> agregar(Class<?> entidade, Set<DimensaoAgregacao> dimensoes, FiltroAgregacaoDto filtro) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<?> pagamento = query.from(entidade);
+
+        // A junção com o estudante só é feita quando alguma dimensão ou filtro precisa dele
+        boolean precisaEstudante = dimensoes.contains(DimensaoAgregacao.ESTUDANTE) || dimensoes.contains(DimensaoAgregacao.PROGRAMA)
+                || filtro.getCodigoEstudante() != null || filtro.getProgramaId() != null;
+        Join<?, Estudante> estudante = precisaEstudante ? pagamento.join("estudante", JoinType.INNER) : null;
+
+        Expression<Integer> ano = cb.function("year", Integer.class, pagamento.get("data"));
+        Expression<Integer> mes = cb.function("month", Integer.class, pagamento.get("data"));
+
+        List<Selection<?>> selecao = new ArrayList<>();
+        List<Expression<?>> agrupamento = new ArrayList<>();
+        for (DimensaoAgregacao dimensao : dimensoes) {
+            List<Expression<?>> expressoes = switch (dimensao) {
+                case ESTUDANTE -> List.of(estudante.get("codigo"));
+                case PROGRAMA -> List.of(estudante.get("programaId"));
+                case TIPO -> List.of(pagamento.get("tipoPagamento"));
+                case STATUS -> List.of(pagamento.get("pagamentoStatus"));
+                case ANO -> List.of(ano);
+                case MES -> List.of(ano, mes);
+            };
+            for (int i = 0; i < expressoes.size(); i++) {
+                selecao.add(expressoes.get(i).alias(dimensao.name() + i));
+                agrupamento.add(expressoes.get(i));
+            }
+        }
+        selecao.add(cb.count(pagamento).alias("quantidade"));
+        selecao.add(cb.sum(pagamento.<Double>get("valor")).alias("total"));
+
+        query.multiselect(selecao)
+                .where(filtros(cb, pagamento, estudante, filtro).toArray(new Predicate[0]))
+                .groupBy(agrupamento);
+
+        List<AgregacaoPagamentoDto> resultado = new ArrayList<>();
+        for (Tuple tupla : entityManager.createQuery(query).getResultList()) {
+            AgregacaoPagamentoDto dto = new AgregacaoPagamentoDto();
+            for (DimensaoAgregacao dimensao : dimensoes) {
+                switch (dimensao) {
+                    case ESTUDANTE -> dto.setCodigoEstudante(tupla.get("ESTUDANTE0", String.class));
+                    case PROGRAMA -> dto.setProgramaId(tupla.get("PROGRAMA0", String.class));
+                    case TIPO -> dto.setTipoPagamento(tupla.get("TIPO0", TipoPagamento.class));
+                    case STATUS -> dto.setPagamentoStatus(tupla.get("STATUS0", PagamentoStatus.class));
+                    case ANO -> dto.setPeriodo(String.valueOf(tupla.get("ANO0", Integer.class)));
+                    case MES -> dto.setPeriodo(String.format("%04d-%02d", tupla.get("MES0", Integer.class), tupla.get("MES1", Integer.class)));
+                }
+            }
+            dto.setQuantidade(tupla.get("quantidade", Long.class));
+            Double total = tupla.get("total", Double.class);
+            dto.setTotal(total == null ? 0 : total);
+            dto.setMedia(dto.getQuantidade() == 0 ? 0 : dto.getTotal() / dto.getQuantidade());
+            resultado.add(dto);
+        }
+        return resultado;
+    }
+
+    private List<Predicate> filtros(CriteriaBuilder cb, Root<?> pagamento, Join<?, Estudante> estudante, FiltroAgregacaoDto filtro) {
+        List<Predicate> predicados = new ArrayList<>();
+        if (filtro.getCodigoEstudante() != null) {
+            predicados.add(cb.equal(estudante.get("codigo"), filtro.getCodigoEstudante()));
+        }
+        if (filtro.getProgramaId() != null) {
+            predicados.add(cb.equal(estudante.get("programaId"), filtro.getProgramaId()));
+        }
+        if (filtro.getTipoPagamento() != null) {
+            predicados.add(cb.equal(pagamento.get("tipoPagamento"), filtro.getTipoPagamento()));
+        }
+        if (filtro.getPagamentoStatus() != null) {
+            predicados.add(cb.equal(pagamento.get("pagamentoStatus"), filtro.getPagamentoStatus()));
+        }
+        if (filtro.getDataInicio() != null) {
+            predicados.add(cb.greaterThanOrEqualTo(pagamento.<LocalDate>get("data"), filtro.getDataInicio()));
+        }
+        if (filtro.getDataFim() != null) {
+            predicados.add(cb.lessThanOrEqualTo(pagamento.<LocalDate>get("data"), filtro.getDataFim()));
+        }
+        return predicados;
+    }
+}
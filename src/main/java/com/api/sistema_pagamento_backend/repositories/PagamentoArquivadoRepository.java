@@ -0,0 +1,33 @@
+package com.api.sistema_pagamento_backend.repositories;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.api.sistema_pagamento_backend.entities.PagamentoArquivado;
+
+/* Consultas dos pagamentos arquivados, usadas como alternativa quando o pagamento não está mais na tabela principal. A busca por ID não
+ * informa a data, então percorre o índice da chave primária de cada partição. */
+@Repository
+public interface PagamentoArquivadoRepository extends JpaRepository<PagamentoArquivado, Long> {
+
+    // Busca um pagamento arquivado pelo ID junto com o estudante
+    @Override
+    @EntityGraph(attributePaths = "estudante")
+    Optional<PagamentoArquivado> findById(Long id);
+
+    // Busca apenas as versões do pagamento arquivado e do seu estudante (usadas no ETag), no mesmo formato de PagamentoRepository
+    @Transactional(readOnly = true)
+    @Query("select concat(cast(p.versao as String), '.', cast(coalesce(e.versao, 0) as String)) "
+            + "from PagamentoArquivado p left join p.estudante e where p.id = :id")
+    Optional<String> findVersaoById(Long id);
+
+    // Busca apenas a referência do comprovante arquivado
+    @Query("select p.file from PagamentoArquivado p where p.id = :id")
+    Optional<String> findFileById(Long id);
+
+}
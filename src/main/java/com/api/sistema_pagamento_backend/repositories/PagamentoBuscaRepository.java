@@ -0,0 +1,20 @@
+package com.api.sistema_pagamento_backend.repositories;
+
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.api.sistema_pagamento_backend.dtos.PagamentoBuscaDto;
+import com.api.sistema_pagamento_backend.entities.Pagamento;
+import com.api.sistema_pagamento_backend.enums.DetalhePagamento;
+import com.api.sistema_pagamento_backend.enums.OrdenacaoPagamento;
+
+// Fragmento do PagamentoRepository com a busca filtrada por Specifications e projetada em PagamentoBuscaDto (implementado em PagamentoBuscaRepositoryImpl)
+public interface PagamentoBuscaRepository {
+
+    // Busca os pagamentos que atendem aos critérios, na ordem pedida (com o ID como desempate), selecionando apenas as colunas da projeção
+    List<PagamentoBuscaDto> buscar(Specification<Pagamento> criterios, OrdenacaoPagamento ordenacao, boolean crescente, Set<DetalhePagamento> detalhes, Limit limit);
+
+}
@@ -0,0 +1,94 @@
+package com.api.sistema_pagamento_backend.repositories;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.api.sistema_pagamento_backend.dtos.PagamentoBuscaDto;
+import com.api.sistema_pagamento_backend.entities.Estudante;
+import com.api.sistema_pagamento_backend.entities.Pagamento;
+import com.api.sistema_pagamento_backend.enums.DetalhePagamento;
+import com.api.sistema_pagamento_backend.enums.OrdenacaoPagamento;
+import com.api.sistema_pagamento_backend.enums.PagamentoStatus;
+import com.api.sistema_pagamento_backend.enums.TipoPagamento;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+public class PagamentoBuscaRepositoryImpl implements PagamentoBuscaRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<PagamentoBuscaDto> buscar(Specification<Pagamento> criterios, OrdenacaoPagamento ordenacao, boolean crescente, Set<DetalhePagamento> detalhes, Limit limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Pagamento> pagamento = query.from(Pagamento.class);
+
+        // A mesma junção com o estudante é usada pela projeção (código) e pelos critérios de estudante e programa
+        Join<Pagamento, Estudante> estudante = PagamentoSpecifications.estudante(pagamento);
+
+        List<Selection<?>> selecao = new ArrayList<>(List.of(
+                pagamento.get("id").alias("id"),
+                pagamento.get("data").alias("data"),
+                pagamento.get("valor").alias("valor"),
+                pagamento.get("tipoPagamento").alias("tipoPagamento"),
+                pagamento.get("pagamentoStatus").alias("pagamentoStatus"),
+                estudante.get("codigo").alias("codigoEstudante")));
+        if (detalhes.contains(DetalhePagamento.FILE)) {
+            selecao.add(pagamento.get("file").alias("file"));
+        }
+        if (detalhes.contains(DetalhePagamento.ESTUDANTE)) {
+            selecao.add(estudante.alias("estudante")); // o estudante vem no mesmo SELECT
+        }
+        query.multiselect(selecao);
+
+        Predicate predicado = criterios == null ? null : criterios.toPredicate(pagamento, query, cb);
+        if (predicado != null) {
+            query.where(predicado);
+        }
+
+        Expression<Long> id = pagamento.get("id");
+        List<Order> ordem = new ArrayList<>();
+        if (ordenacao != OrdenacaoPagamento.ID) {
+            Expression<?> campo = pagamento.get(ordenacao.getAtributo());
+            ordem.add(crescente ? cb.asc(campo) : cb.desc(campo));
+        }
+        ordem.add(crescente ? cb.asc(id) : cb.desc(id));
+        query.orderBy(ordem);
+
+        TypedQuery<Tuple> consulta = entityManager.createQuery(query);
+        if (limit.isLimited()) {
+            consulta.setMaxResults(limit.max());
+        }
+
+        List<PagamentoBuscaDto> resultado = new ArrayList<>();
+        for (Tuple tupla : consulta.getResultList()) {
+            resultado.add(new PagamentoBuscaDto(
+                    tupla.get("id", Long.class),
+                    tupla.get("data", LocalDate.class),
+                    tupla.get("valor", Double.class),
+                    tupla.get("tipoPagamento", TipoPagamento.class),
+                    tupla.get("pagamentoStatus", PagamentoStatus.class),
+                    tupla.get("codigoEstudante", String.class),
+                    detalhes.contains(DetalhePagamento.FILE) ? tupla.get("file", String.class) : null,
+                    detalhes.contains(DetalhePagamento.ESTUDANTE) ? tupla.get("estudante", Estudante.class) : null));
+        }
+        return resultado;
+    }
+}
@@ -1,26 +1,129 @@
 package com.api.sistema_pagamento_backend.repositories;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.api.sistema_pagamento_backend.dtos.PagamentoResumoDto;
 import com.api.sistema_pagamento_backend.entities.Pagamento;
 import com.api.sistema_pagamento_backend.enums.PagamentoStatus;
 import com.api.sistema_pagamento_backend.enums.TipoPagamento;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
 
 
 @Repository
-public interface PagamentoRepository extends JpaRepository<Pagamento, Long>{
+public interface PagamentoRepository extends JpaRepository<Pagamento, Long>, PagamentoAgregacaoRepository, PagamentoBuscaRepository {
+
+    /* O estudante é LAZY em Pagamento. Os métodos que devolvem a entidade completa para a API usam @EntityGraph para trazer o estudante
+     * no mesmo SELECT (LEFT JOIN), em vez de disparar uma consulta extra por estudante distinto. */
+
+    // Busca todos os pagamentos junto com os estudantes
+    @Override
+    @EntityGraph(attributePaths = "estudante")
+    List<Pagamento> findAll();
+
+    // Busca um pagamento pelo ID junto com o estudante
+    @Override
+    @EntityGraph(attributePaths = "estudante")
+    Optional<Pagamento> findById(Long id);
 
     // Busca uma lista de pagamentos dos estudantes pelo código
+    @EntityGraph(attributePaths = "estudante")
     List<Pagamento> findByEstudanteCodigo(String codigo);
 
+    /* As consultas usadas diretamente pelas listagens do controller são somente leitura (readOnly): fora de uma transação de escrita, elas
+     * são servidas pelas réplicas quando configuradas (ver DataSourceConfig). O findAll e o findById já são readOnly no JpaRepository. */
+
+    // Busca os pagamentos de um estudante como projeção, sem carregar a entidade Estudante
+    @Transactional(readOnly = true)
+    @Query("select new com.api.sistema_pagamento_backend.dtos.PagamentoResumoDto(p.id, p.data, p.valor, p.tipoPagamento, p.pagamentoStatus, e.codigo) "
+            + "from Pagamento p join p.estudante e where e.codigo = :codigo order by p.id")
+    List<PagamentoResumoDto> findResumoByEstudanteCodigo(String codigo);
+
+    // Busca apenas as versões do pagamento e do seu estudante (usadas no ETag), sem carregar as entidades
+    @Transactional(readOnly = true)
+    @Query("select concat(cast(p.versao as String), '.', cast(coalesce(e.versao, 0) as String)) "
+            + "from Pagamento p left join p.estudante e where p.id = :id")
+    Optional<String> findVersaoById(Long id);
+
+    // Busca apenas o caminho do comprovante de um pagamento, sem carregar a entidade nem o estudante
+    @Query("select p.file from Pagamento p where p.id = :id")
+    Optional<String> findFileById(Long id);
+
+    // Dentre as referências de comprovantes informadas, retorna as que pertencem a algum pagamento (usado na limpeza de órfãos)
+    @Query("select distinct p.file from Pagamento p where p.file in :files")
+    List<String> findFilesIn(Collection<String> files);
+
     // Busca uma lista de pagamentos dos estudantes pelo status do pagamento
+    @Transactional(readOnly = true)
+    @EntityGraph(attributePaths = "estudante")
     List<Pagamento> findByPagamentoStatus(PagamentoStatus pagamentoStatus);
 
     // Busca uma lista de pagamentos dos estudantes pelo tipo do pagamento
+    @Transactional(readOnly = true)
+    @EntityGraph(attributePaths = "estudante")
     List<Pagamento> findByTipoPagamento(TipoPagamento tipoPagamento);
+
+    // Busca a próxima página de pagamentos a partir do último ID lido (paginação por keyset, sem OFFSET)
+    @EntityGraph(attributePaths = "estudante")
+    List<Pagamento> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    // Percorre todos os pagamentos em ordem de ID como um fluxo, lendo do banco em lotes (fetch size) em vez de carregar a tabela inteira
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select p from Pagamento p left join fetch p.estudante order by p.id")
+    Stream<Pagamento> streamAllByOrderByIdAsc();
+
+    /* Muda o status apenas se o pagamento ainda estiver no status esperado (e na versão esperada, quando informada), em um único UPDATE.
+     * Retorna 0 quando a condição não é atendida, sem ler nem bloquear a linha antes da escrita. */
+    @Modifying(clearAutomatically = true)
+    @Query("update Pagamento p set p.pagamentoStatus = :novoStatus, p.versao = p.versao + 1 "
+            + "where p.id = :id and p.pagamentoStatus = :statusAtual and (:versao is null or p.versao = :versao)")
+    int atualizarStatusSeAtual(Long id, PagamentoStatus statusAtual, PagamentoStatus novoStatus, Long versao);
+
+    // Dentre os IDs informados, trava (SELECT ... FOR UPDATE) e retorna os pagamentos que estão no status indicado
+    @Query(value = "SELECT id FROM pagamento WHERE id IN (:ids) AND pagamento_status = :pagamentoStatus FOR UPDATE", nativeQuery = true)
+    List<Long> travarIdsPorStatus(Collection<Long> ids, String pagamentoStatus);
+
+    // Versão em lote do compare-and-set: muda o status de todos os pagamentos informados que ainda estão no status esperado
+    @Modifying(clearAutomatically = true)
+    @Query("update Pagamento p set p.pagamentoStatus = :novoStatus, p.versao = p.versao + 1 "
+            + "where p.id in :ids and p.pagamentoStatus = :statusAtual")
+    int atualizarStatusEmLote(Collection<Long> ids, PagamentoStatus statusAtual, PagamentoStatus novoStatus);
+
+    // Busca apenas o ID e o status dos pagamentos informados, como pares [id, status]
+    @Query("select p.id, p.pagamentoStatus from Pagamento p where p.id in :ids")
+    List<Object[]> findStatusByIdIn(Collection<Long> ids);
+
+    // Busca a próxima página de IDs que atendem aos filtros da atualização de status em lote (filtros nulos são ignorados)
+    @Query("select p.id from Pagamento p where p.id > :ultimoId and p.pagamentoStatus = :pagamentoStatus "
+            + "and (:tipoPagamento is null or p.tipoPagamento = :tipoPagamento) "
+            + "and (:dataInicio is null or p.data >= :dataInicio) "
+            + "and (:dataFim is null or p.data <= :dataFim) "
+            + "order by p.id")
+    List<Long> findIdsByFiltro(Long ultimoId, PagamentoStatus pagamentoStatus, TipoPagamento tipoPagamento, LocalDate dataInicio, LocalDate dataFim, Limit limit);
+
+    // Busca os pagamentos anteriores à data de corte como trincas [id, data, file], em ordem de data (arquivamento; índice idx_pagamento_data)
+    @Query("select p.id, p.data, p.file from Pagamento p where p.data < :corte order by p.data, p.id")
+    List<Object[]> findParaArquivamento(LocalDate corte, Limit limit);
+
+    // Trava (SELECT ... FOR UPDATE) e carrega os pagamentos informados, sem carregar o estudante (arquivamento)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<Pagamento> findByIdIn(Collection<Long> ids);
     
 }
@@ -0,0 +1,131 @@
+package com.api.sistema_pagamento_backend.repositories;
+
+import java.time.LocalDate;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.api.sistema_pagamento_backend.dtos.FiltroBuscaPagamentoDto;
+import com.api.sistema_pagamento_backend.entities.Estudante;
+import com.api.sistema_pagamento_backend.entities.Pagamento;
+import com.api.sistema_pagamento_backend.enums.OrdenacaoPagamento;
+import com.api.sistema_pagamento_backend.enums.PagamentoStatus;
+import com.api.sistema_pagamento_backend.enums.TipoPagamento;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+
+/* Critérios da busca de pagamentos como Specifications, combináveis entre si. Cada método retorna null quando o filtro não foi informado,
+ * e o Specification.allOf ignora os nulos. */
+public final class PagamentoSpecifications {
+
+    private PagamentoSpecifications() {
+    }
+
+    /**
+     * Método para combinar todos os filtros informados.
+     * @param filtro Os filtros da busca.
+     * @return A Specification com os filtros combinados com AND.
+     */
+    public static Specification<Pagamento> comFiltro(FiltroBuscaPagamentoDto filtro) {
+        return Specification.allOf(
+                doEstudante(filtro.getCodigoEstudante()),
+                doPrograma(filtro.getProgramaId()),
+                comStatus(filtro.getPagamentoStatus()),
+                comTipo(filtro.getTipoPagamento()),
+                dataEntre(filtro.getDataInicio(), filtro.getDataFim()),
+                valorEntre(filtro.getValorMinimo(), filtro.getValorMaximo()));
+    }
+
+    public static Specification<Pagamento> doEstudante(String codigo) {
+        return codigo == null ? null : (root, query, cb) -> cb.equal(estudante(root).get("codigo"), codigo);
+    }
+
+    public static Specification<Pagamento> doPrograma(String programaId) {
+        return programaId == null ? null : (root, query, cb) -> cb.equal(estudante(root).get("programaId"), programaId);
+    }
+
+    public static Specification<Pagamento> comStatus(PagamentoStatus pagamentoStatus) {
+        return pagamentoStatus == null ? null : (root, query, cb) -> cb.equal(root.get("pagamentoStatus"), pagamentoStatus);
+    }
+
+    public static Specification<Pagamento> comTipo(TipoPagamento tipoPagamento) {
+        return tipoPagamento == null ? null : (root, query, cb) -> cb.equal(root.get("tipoPagamento"), tipoPagamento);
+    }
+
+    public static Specification<Pagamento> dataEntre(LocalDate inicio, LocalDate fim) {
+        return intervalo("data", inicio, fim);
+    }
+
+    public static Specification<Pagamento> valorEntre(Double minimo, Double maximo) {
+        return intervalo("valor", minimo, maximo);
+    }
+
+    /**
+     * Método para criar o critério da paginação por keyset: os pagamentos posteriores ao último da página anterior, na ordem pedida.
+     * @param ordenacao O campo de ordenação.
+     * @param crescente Se a ordem é crescente.
+     * @param chave O valor do campo de ordenação no último pagamento lido (ignorado na ordenação por ID; nulo para um pagamento sem data).
+     * @param ultimoId O ID do último pagamento lido, ou nulo na primeira página.
+     * @return O critério, ou nulo na primeira página.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public static Specification<Pagamento> aposPosicao(OrdenacaoPagamento ordenacao, boolean crescente, Comparable chave, Long ultimoId) {
+        if (ultimoId == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            Expression<Long> id = root.get("id");
+            Predicate aposId = crescente ? cb.greaterThan(id, ultimoId) : cb.lessThan(id, ultimoId);
+            if (ordenacao == OrdenacaoPagamento.ID) {
+                return aposId;
+            }
+            /* (campo > chave) OR (campo = chave AND id > ultimoId), ou o inverso na ordem decrescente. A data do pagamento pode ser nula e,
+             * como no MySQL, NULL é ordenado como o menor valor: os pagamentos sem data vêm primeiro na ordem crescente e por último na
+             * decrescente, e o critério precisa cobri-los explicitamente, já que "campo > chave" nunca é verdadeiro para NULL. */
+            Expression<Comparable> campo = root.get(ordenacao.getAtributo());
+            if (chave == null) {
+                Predicate semChave = cb.and(cb.isNull(campo), aposId);
+                return crescente ? cb.or(semChave, cb.isNotNull(campo)) : semChave;
+            }
+            Predicate aposChave = cb.or(
+                    crescente ? cb.greaterThan(campo, chave) : cb.lessThan(campo, chave),
+                    cb.and(cb.equal(campo, chave), aposId));
+            return crescente ? aposChave : cb.or(aposChave, cb.isNull(campo));
+        };
+    }
+
+    /**
+     * Método para obter a junção com o estudante, reaproveitando a junção já criada por outro critério ou pela projeção.
+     * @param root A raiz da consulta.
+     * @return A junção (LEFT) com o estudante.
+     */
+    @SuppressWarnings("unchecked")
+    public static Join<Pagamento, Estudante> estudante(From<?, Pagamento> root) {
+        return root.getJoins().stream()
+                .filter(join -> join.getAttribute().getName().equals("estudante"))
+                .map(join -> (Join<Pagamento, Estudante>) join)
+                .findFirst()
+                .orElseGet(() -> root.join("estudante", JoinType.LEFT));
+    }
+
+    private static <Y extends Comparable<? super Y>> Specification<Pagamento> intervalo(String atributo, Y minimo, Y maximo) {
+        if (minimo == null && maximo == null) {
+            return null;
+        }
+        return (root, query, cb) -> entre(cb, root.<Y>get(atributo), minimo, maximo);
+    }
+
+    private static <Y extends Comparable<? super Y>> Predicate entre(CriteriaBuilder cb, Expression<Y> campo, Y minimo, Y maximo) {
+        if (minimo == null) {
+            return cb.lessThanOrEqualTo(campo, maximo);
+        }
+        if (maximo == null) {
+            return cb.greaterThanOrEqualTo(campo, minimo);
+        }
+        return cb.between(campo, minimo, maximo);
+    }
+}
@@ -0,0 +1,64 @@
+package com.api.sistema_pagamento_backend.repositories;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.api.sistema_pagamento_backend.entities.ResumoPagamento;
+import com.api.sistema_pagamento_backend.entities.ResumoPagamentoId;
+import com.api.sistema_pagamento_backend.enums.PagamentoStatus;
+import com.api.sistema_pagamento_backend.enums.TipoPagamento;
+
+@Repository
+public interface ResumoPagamentoRepository extends JpaRepository<ResumoPagamento, ResumoPagamentoId> {
+
+    // Soma quantidade e total à linha do grupo, criando a linha se ela ainda não existir (upsert atômico no MySQL)
+    @Modifying
+    @Query(value = "INSERT INTO resumo_pagamento (ano_mes, programa_id, tipo_pagamento, pagamento_status, quantidade, total) "
+            + "VALUES (:anoMes, :programaId, :tipoPagamento, :pagamentoStatus, :quantidade, :total) AS novo "
+            + "ON DUPLICATE KEY UPDATE quantidade = resumo_pagamento.quantidade + novo.quantidade, total = resumo_pagamento.total + novo.total",
+            nativeQuery = true)
+    void acumular(int anoMes, String programaId, String tipoPagamento, String pagamentoStatus, long quantidade, double total);
+
+    /* Soma (sinal = 1) ou subtrai (sinal = -1) os pagamentos informados nos grupos do status indicado, com um upsert por grupo. Usado na
+     * atualização de status em lote, em que os pagamentos não são carregados como entidades. */
+    @Modifying
+    @Query(value = "INSERT INTO resumo_pagamento (ano_mes, programa_id, tipo_pagamento, pagamento_status, quantidade, total) "
+            + "SELECT * FROM (SELECT COALESCE(YEAR(p.data) * 100 + MONTH(p.data), 0) AS ano_mes, COALESCE(e.programa_id, '') AS programa_id, "
+            + "p.tipo_pagamento, :pagamentoStatus AS pagamento_status, :sinal * COUNT(*) AS quantidade, :sinal * SUM(p.valor) AS total "
+            + "FROM pagamento p LEFT JOIN estudante e ON e.id = p.estudante_id "
+            + "WHERE p.id IN (:ids) AND p.tipo_pagamento IS NOT NULL "
+            + "GROUP BY 1, 2, 3) AS novo "
+            + "ON DUPLICATE KEY UPDATE quantidade = resumo_pagamento.quantidade + novo.quantidade, total = resumo_pagamento.total + novo.total",
+            nativeQuery = true)
+    void acumularPagamentos(Collection<Long> ids, String pagamentoStatus, int sinal);
+
+    // Busca as linhas do resumo filtradas pelas dimensões disponíveis (filtros nulos são ignorados)
+    @Query("select r from ResumoPagamento r where r.quantidade <> 0 "
+            + "and (:programaId is null or r.id.programaId = :programaId) "
+            + "and (:tipoPagamento is null or r.id.tipoPagamento = :tipoPagamento) "
+            + "and (:pagamentoStatus is null or r.id.pagamentoStatus = :pagamentoStatus)")
+    List<ResumoPagamento> buscar(String programaId, TipoPagamento tipoPagamento, PagamentoStatus pagamentoStatus);
+
+    // Recalcula o resumo inteiro a partir das tabelas de pagamentos, ativos e arquivados (usado após cargas que não passam pelo serviço, como o seeder)
+    @Modifying
+    @Query(value = "DELETE FROM resumo_pagamento", nativeQuery = true)
+    void limpar();
+
+    @Modifying
+    @Query(value = "INSERT INTO resumo_pagamento (ano_mes, programa_id, tipo_pagamento, pagamento_status, quantidade, total) "
+            + "SELECT COALESCE(YEAR(p.data) * 100 + MONTH(p.data), 0), COALESCE(e.programa_id, ''), p.tipo_pagamento, p.pagamento_status, "
+            + "COUNT(*), SUM(p.valor) "
+            + "FROM (SELECT data, tipo_pagamento, pagamento_status, valor, estudante_id FROM pagamento "
+            + "      UNION ALL SELECT data, tipo_pagamento, pagamento_status, valor, estudante_id FROM pagamento_arquivado) p "
+            + "LEFT JOIN estudante e ON e.id = p.estudante_id "
+            + "WHERE p.tipo_pagamento IS NOT NULL AND p.pagamento_status IS NOT NULL "
+            + "GROUP BY 1, 2, 3, 4",
+            nativeQuery = true)
+    void reconstruir();
+
+}
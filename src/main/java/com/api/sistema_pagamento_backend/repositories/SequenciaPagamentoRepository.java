@@ -0,0 +1,35 @@
+package com.api.sistema_pagamento_backend.repositories;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.api.sistema_pagamento_backend.entities.Pagamento;
+
+/* Reserva IDs de pagamento na tabela "pagamento_seq" para quem insere pagamentos por JDBC, sem passar pelo Hibernate (gerador de dados,
+ * testes). A coluna pagamento.id não tem AUTO_INCREMENT (V9): todo INSERT precisa informar um ID reservado aqui ou pelo próprio Hibernate.
+ *
+ * Com o otimizador pooled, o Hibernate lê o valor T da tabela, grava T + 100 e usa os IDs de T - 99 a T. Para reservar N IDs, o valor
+ * também avança N: os IDs reservados (T - 99 a T - 100 + N) ficam entre o último bloco entregue ao Hibernate (que termina em T - 100) e o
+ * próximo (que começa em T + N - 99). */
+@Repository
+public class SequenciaPagamentoRepository {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Método para reservar um intervalo contínuo de IDs de pagamento.
+     * @param quantidade A quantidade de IDs a reservar.
+     * @return O primeiro ID do intervalo; os IDs reservados vão dele até ele + quantidade - 1.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public long reservar(long quantidade) {
+        // Transação própria e curta: o bloqueio da linha não fica preso durante os INSERTs de quem reservou
+        Long valor = jdbcTemplate.queryForObject("SELECT next_val FROM pagamento_seq FOR UPDATE", Long.class);
+        jdbcTemplate.update("UPDATE pagamento_seq SET next_val = ?", valor + quantidade);
+        return valor - (Pagamento.ALOCACAO_IDS - 1);
+    }
+}
@@ -0,0 +1,177 @@
+package com.api.sistema_pagamento_backend.services;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.api.sistema_pagamento_backend.dtos.AgregacaoPagamentoDto;
+import com.api.sistema_pagamento_backend.dtos.FiltroAgregacaoDto;
+import com.api.sistema_pagamento_backend.entities.Pagamento;
+import com.api.sistema_pagamento_backend.entities.ResumoPagamento;
+import com.api.sistema_pagamento_backend.entities.ResumoPagamentoId;
+import com.api.sistema_pagamento_backend.enums.DimensaoAgregacao;
+import com.api.sistema_pagamento_backend.enums.PagamentoStatus;
+import com.api.sistema_pagamento_backend.repositories.PagamentoRepository;
+import com.api.sistema_pagamento_backend.repositories.ResumoPagamentoRepository;
+
+/* Serviço de agregação dos pagamentos (totais, quantidades e médias por estudante, programa, tipo, status e período).
+ *
+ * As consultas que agrupam e filtram apenas por programa, tipo, status e mês/ano são respondidas pela tabela resumo_pagamento, que é
+ * mantida de forma incremental por este serviço. As demais (por estudante ou com intervalo de datas) rodam como GROUP BY nas tabelas de
+ * pagamentos. Os dois caminhos contam os mesmos pagamentos: ativos e arquivados (o arquivamento não altera o resumo, e o GROUP BY também
+ * lê a tabela pagamento_arquivado). */
+@Service
+@Transactional
+public class AgregacaoPagamentoService {
+
+    private static final Set<DimensaoAgregacao> DIMENSOES_DO_RESUMO = EnumSet.of(
+            DimensaoAgregacao.PROGRAMA, DimensaoAgregacao.TIPO, DimensaoAgregacao.STATUS, DimensaoAgregacao.MES, DimensaoAgregacao.ANO);
+
+    @Autowired
+    private PagamentoRepository pagamentoRepository;
+
+    @Autowired
+    private ResumoPagamentoRepository resumoPagamentoRepository;
+
+    /**
+     * Método para agregar os pagamentos.
+     * @param dimensoes As dimensões de agrupamento (vazio para o total geral).
+     * @param filtro Os filtros opcionais.
+     * @return Uma linha por grupo, com quantidade, total e média.
+     */
+    @Transactional(readOnly = true)
+    public List<AgregacaoPagamentoDto> agregar(Set<DimensaoAgregacao> dimensoes, FiltroAgregacaoDto filtro) {
+        Set<DimensaoAgregacao> agrupamento = dimensoes == null || dimensoes.isEmpty()
+                ? EnumSet.noneOf(DimensaoAgregacao.class)
+                : EnumSet.copyOf(dimensoes);
+        if (agrupamento.contains(DimensaoAgregacao.MES)) {
+            agrupamento.remove(DimensaoAgregacao.ANO); // o mês já identifica o ano
+        }
+
+        boolean atendidoPeloResumo = DIMENSOES_DO_RESUMO.containsAll(agrupamento)
+                && filtro.getCodigoEstudante() == null && filtro.getDataInicio() == null && filtro.getDataFim() == null;
+        if (atendidoPeloResumo) {
+            return agregarPeloResumo(agrupamento, filtro);
+        }
+        return pagamentoRepository.agregar(agrupamento, filtro);
+    }
+
+    /**
+     * Método para somar um pagamento recém-criado ao resumo (deve ser chamado na mesma transação do INSERT).
+     * @param pagamento O pagamento criado.
+     */
+    public void registrarPagamento(Pagamento pagamento) {
+        acumular(pagamento, pagamento.getPagamentoStatus(), 1);
+    }
+
+    /**
+     * Método para somar ao resumo um lote de pagamentos recém-criados, com um upsert por grupo.
+     * @param pagamentos Os pagamentos criados.
+     */
+    public void registrarPagamentos(List<Pagamento> pagamentos) {
+        Map<ResumoPagamentoId, ResumoPagamento> grupos = new LinkedHashMap<>();
+        for (Pagamento pagamento : pagamentos) {
+            if (pagamento.getTipoPagamento() == null || pagamento.getPagamentoStatus() == null) {
+                continue;
+            }
+            ResumoPagamento grupo = grupos.computeIfAbsent(chave(pagamento, pagamento.getPagamentoStatus()), id -> new ResumoPagamento(id, 0, 0));
+            grupo.setQuantidade(grupo.getQuantidade() + 1);
+            grupo.setTotal(grupo.getTotal() + pagamento.getValor());
+        }
+        grupos.values().forEach(grupo -> acumular(grupo.getId(), grupo.getQuantidade(), grupo.getTotal()));
+    }
+
+    /**
+     * Método para mover um pagamento do grupo do status anterior para o grupo do status atual.
+     * @param pagamento O pagamento já com o novo status.
+     * @param statusAnterior O status antes da atualização.
+     */
+    public void registrarMudancaStatus(Pagamento pagamento, PagamentoStatus statusAnterior) {
+        if (statusAnterior == pagamento.getPagamentoStatus()) {
+            return;
+        }
+        acumular(pagamento, statusAnterior, -1);
+        acumular(pagamento, pagamento.getPagamentoStatus(), 1);
+    }
+
+    /**
+     * Método para mover um lote de pagamentos do grupo do status anterior para o grupo do novo status, com um upsert por grupo.
+     * @param pagamentoIds Os IDs dos pagamentos que mudaram de status (devem estar travados pela transação atual).
+     * @param statusAnterior O status antes da atualização.
+     * @param novoStatus O status depois da atualização.
+     */
+    public void registrarMudancaStatus(Collection<Long> pagamentoIds, PagamentoStatus statusAnterior, PagamentoStatus novoStatus) {
+        if (pagamentoIds.isEmpty() || statusAnterior == novoStatus) {
+            return;
+        }
+        resumoPagamentoRepository.acumularPagamentos(pagamentoIds, statusAnterior.name(), -1);
+        resumoPagamentoRepository.acumularPagamentos(pagamentoIds, novoStatus.name(), 1);
+    }
+
+    /**
+     * Método para recalcular todo o resumo a partir da tabela de pagamentos.
+     */
+    public void reconstruirResumo() {
+        resumoPagamentoRepository.limpar();
+        resumoPagamentoRepository.reconstruir();
+    }
+
+
+    private void acumular(Pagamento pagamento, PagamentoStatus status, long sinal) {
+        if (pagamento.getTipoPagamento() == null || status == null) {
+            return;
+        }
+        acumular(chave(pagamento, status), sinal, sinal * pagamento.getValor());
+    }
+
+    private void acumular(ResumoPagamentoId id, long quantidade, double total) {
+        resumoPagamentoRepository.acumular(id.getAnoMes(), id.getProgramaId(), id.getTipoPagamento().name(), id.getPagamentoStatus().name(),
+                quantidade, total);
+    }
+
+    private ResumoPagamentoId chave(Pagamento pagamento, PagamentoStatus status) {
+        LocalDate data = pagamento.getData();
+        int anoMes = data == null ? 0 : data.getYear() * 100 + data.getMonthValue();
+        String programaId = pagamento.getEstudante() == null || pagamento.getEstudante().getProgramaId() == null
+                ? ""
+                : pagamento.getEstudante().getProgramaId();
+        return new ResumoPagamentoId(anoMes, programaId, pagamento.getTipoPagamento(), status);
+    }
+
+    // Soma as linhas do resumo agrupando apenas pelas dimensões pedidas
+    private List<AgregacaoPagamentoDto> agregarPeloResumo(Set<DimensaoAgregacao> dimensoes, FiltroAgregacaoDto filtro) {
+        Map<List<Object>, AgregacaoPagamentoDto> grupos = new LinkedHashMap<>();
+        for (ResumoPagamento resumo : resumoPagamentoRepository.buscar(filtro.getProgramaId(), filtro.getTipoPagamento(), filtro.getPagamentoStatus())) {
+            ResumoPagamentoId id = resumo.getId();
+            AgregacaoPagamentoDto dto = new AgregacaoPagamentoDto();
+            for (DimensaoAgregacao dimensao : dimensoes) {
+                switch (dimensao) {
+                    case PROGRAMA -> dto.setProgramaId(id.getProgramaId().isEmpty() ? null : id.getProgramaId());
+                    case TIPO -> dto.setTipoPagamento(id.getTipoPagamento());
+                    case STATUS -> dto.setPagamentoStatus(id.getPagamentoStatus());
+                    case MES -> dto.setPeriodo(String.format("%04d-%02d", id.getAnoMes() / 100, id.getAnoMes() % 100));
+                    case ANO -> dto.setPeriodo(String.valueOf(id.getAnoMes() / 100));
+                    default -> throw new IllegalStateException("Dimensão não disponível no resumo: " + dimensao);
+                }
+            }
+
+            List<Object> chave = Arrays.asList(dto.getProgramaId(), dto.getTipoPagamento(), dto.getPagamentoStatus(), dto.getPeriodo());
+            AgregacaoPagamentoDto grupo = grupos.computeIfAbsent(chave, k -> dto);
+            grupo.setQuantidade(grupo.getQuantidade() + resumo.getQuantidade());
+            grupo.setTotal(grupo.getTotal() + resumo.getTotal());
+        }
+
+        grupos.values().forEach(grupo -> grupo.setMedia(grupo.getQuantidade() == 0 ? 0 : grupo.getTotal() / grupo.getQuantidade()));
+        return new ArrayList<>(grupos.values());
+    }
+}
@@ -0,0 +1,186 @@
+package com.api.sistema_pagamento_backend.services;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.api.sistema_pagamento_backend.entities.Pagamento;
+import com.api.sistema_pagamento_backend.entities.PagamentoArquivado;
+import com.api.sistema_pagamento_backend.metricas.MetricasPagamento;
+import com.api.sistema_pagamento_backend.repositories.PagamentoRepository;
+import com.api.sistema_pagamento_backend.storage.ComprovanteStorage;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+
+/* Rotina de arquivamento dos pagamentos antigos. Os pagamentos com data anterior ao corte (primeiro dia do mês, menos a idade configurada)
+ * saem da tabela pagamento e vão para pagamento_arquivado, particionada por ano; os comprovantes são copiados para arquivos ZIP por mês.
+ * Assim a tabela principal e os seus índices ficam do tamanho dos dados recentes.
+ *
+ * Cada lote segue a ordem: (1) os comprovantes são gravados em um novo ZIP por mês; (2) em uma transação, os pagamentos são travados,
+ * copiados para o arquivo, já apontando para o comprovante no ZIP, e removidos da tabela principal. Se a transação falhar, os ZIPs do lote
+ * são descartados. Os comprovantes originais, sem referência, são removidos depois pela LimpezaComprovanteService.
+ *
+ * Os pagamentos arquivados continuam disponíveis em /pagamentos/{id} e /pagamentoArquivo/{pagamentoId}, e entram na reconstrução do
+ * resumo. A tabela de resumo não muda no arquivamento: os pagamentos arquivados continuam contados nas agregações, tanto pelo resumo quanto
+ * pelo GROUP BY (PagamentoAgregacaoRepositoryImpl). */
+@Slf4j
+@Service
+public class ArquivamentoPagamentoService {
+
+    private static final DateTimeFormatter FORMATO_MES = DateTimeFormatter.ofPattern("yyyy-MM");
+    private static final Pattern PARTICAO_ANUAL = Pattern.compile("p(\\d{4})");
+
+    @Autowired
+    private PagamentoRepository pagamentoRepository;
+
+    @Autowired
+    private ComprovanteStorage comprovanteStorage;
+
+    @Autowired
+    private MetricasPagamento metricasPagamento;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${pagamentos.arquivamento.idade:P2Y}")
+    private Period idade;
+
+    @Value("${pagamentos.arquivamento.tamanho-lote:500}")
+    private int tamanhoLote;
+
+    /**
+     * Método executado periodicamente para arquivar os pagamentos mais antigos que a idade configurada, em lotes.
+     */
+    @Scheduled(cron = "${pagamentos.arquivamento.cron:0 30 3 * * *}")
+    public void arquivarPagamentosAntigos() {
+        LocalDate corte = LocalDate.now().minus(idade).withDayOfMonth(1); // apenas meses completos
+        try {
+            criarParticoes(corte.minusDays(1).getYear());
+            int arquivados = 0;
+            int lote;
+            do {
+                lote = arquivarLote(corte);
+                arquivados += lote;
+            } while (lote == tamanhoLote);
+            if (arquivados > 0) {
+                log.info("Arquivamento: {} pagamento(s) anteriores a {} movidos para o arquivo", arquivados, corte);
+            }
+        } catch (IOException | DataAccessException | TransactionException e) {
+            log.warn("Falha no arquivamento de pagamentos; nova tentativa na próxima execução", e);
+        }
+    }
+
+    /**
+     * Método para arquivar um lote de pagamentos anteriores à data de corte.
+     * @param corte Os pagamentos com data anterior a esta são arquivados.
+     * @return A quantidade de pagamentos arquivados no lote.
+     * @throws IOException Se os comprovantes não puderem ser copiados para o arquivo.
+     */
+    public int arquivarLote(LocalDate corte) throws IOException {
+        List<Object[]> candidatos = pagamentoRepository.findParaArquivamento(corte, Limit.of(tamanhoLote));
+        if (candidatos.isEmpty()) {
+            return 0;
+        }
+
+        Map<YearMonth, List<String>> comprovantesPorMes = new TreeMap<>();
+        List<Long> ids = new ArrayList<>(candidatos.size());
+        for (Object[] candidato : candidatos) {
+            ids.add((Long) candidato[0]);
+            if (candidato[2] != null) {
+                comprovantesPorMes.computeIfAbsent(YearMonth.from((LocalDate) candidato[1]), mes -> new ArrayList<>()).add((String) candidato[2]);
+            }
+        }
+
+        Map<String, String> arquivados = new HashMap<>();
+        List<String> zips = new ArrayList<>(); // uma referência de cada ZIP criado, para descartá-los se a transação falhar
+        try {
+            for (Map.Entry<YearMonth, List<String>> mes : comprovantesPorMes.entrySet()) {
+                Map<String, String> doMes = comprovanteStorage.arquivar(mes.getKey().format(FORMATO_MES), mes.getValue());
+                doMes.values().stream().findFirst().ifPresent(zips::add);
+                arquivados.putAll(doMes);
+            }
+            int movidos = transactionTemplate.execute(status -> moverParaArquivo(ids, arquivados));
+            metricasPagamento.registrarArquivamento(movidos);
+            return movidos;
+        } catch (IOException | RuntimeException e) {
+            for (String zip : zips) {
+                try {
+                    comprovanteStorage.descartarArquivo(zip);
+                } catch (IOException erroDescarte) {
+                    e.addSuppressed(erroDescarte);
+                }
+            }
+            throw e;
+        }
+    }
+
+    // Copia os pagamentos travados para o arquivo (INSERTs em batch) e remove-os da tabela principal com um único DELETE
+    private int moverParaArquivo(List<Long> ids, Map<String, String> comprovantesArquivados) {
+        LocalDateTime agora = LocalDateTime.now();
+        List<Long> movidos = new ArrayList<>(ids.size());
+        for (Pagamento pagamento : pagamentoRepository.findByIdIn(ids)) {
+            String file = comprovantesArquivados.getOrDefault(pagamento.getFile(), pagamento.getFile());
+            entityManager.persist(PagamentoArquivado.de(pagamento, file, agora));
+            movidos.add(pagamento.getId());
+        }
+        entityManager.flush();
+        pagamentoRepository.deleteAllByIdInBatch(movidos);
+        return movidos.size();
+    }
+
+    /* Cria as partições anuais que faltam até o ano informado, dividindo a partição p_futuro (vazia enquanto o arquivo não chega ao ano
+     * corrente, então a divisão não move linhas). Em bancos sem o particionamento da V8 nada é feito. */
+    private void criarParticoes(int ultimoAno) {
+        List<String> particoes;
+        try {
+            particoes = jdbcTemplate.queryForList("SELECT partition_name FROM information_schema.partitions "
+                    + "WHERE table_schema = DATABASE() AND table_name = 'pagamento_arquivado' AND partition_name IS NOT NULL", String.class);
+        } catch (DataAccessException e) {
+            log.debug("Particionamento do arquivo indisponível neste banco", e);
+            return;
+        }
+        int maiorAno = particoes.stream()
+                .map(PARTICAO_ANUAL::matcher)
+                .filter(Matcher::matches)
+                .mapToInt(particao -> Integer.parseInt(particao.group(1)))
+                .max()
+                .orElse(-1);
+        if (maiorAno < 0) {
+            return; // tabela sem partições anuais
+        }
+        for (int ano = maiorAno + 1; ano <= ultimoAno; ano++) {
+            jdbcTemplate.execute("ALTER TABLE pagamento_arquivado REORGANIZE PARTITION p_futuro INTO ("
+                    + "PARTITION p" + ano + " VALUES LESS THAN ('" + (ano + 1) + "-01-01'), "
+                    + "PARTITION p_futuro VALUES LESS THAN (MAXVALUE))");
+            log.info("Arquivamento: partição p{} criada em pagamento_arquivado", ano);
+        }
+    }
+}
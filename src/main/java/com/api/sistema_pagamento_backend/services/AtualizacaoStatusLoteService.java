@@ -0,0 +1,152 @@
+package com.api.sistema_pagamento_backend.services;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.api.sistema_pagamento_backend.dtos.AtualizacaoStatusLoteDto;
+import com.api.sistema_pagamento_backend.dtos.AtualizacaoStatusLoteResultadoDto;
+import com.api.sistema_pagamento_backend.dtos.ResultadoAtualizacaoStatusDto;
+import com.api.sistema_pagamento_backend.enums.PagamentoStatus;
+import com.api.sistema_pagamento_backend.enums.ResultadoAtualizacaoStatus;
+import com.api.sistema_pagamento_backend.exceptions.RequisicaoInvalidaException;
+import com.api.sistema_pagamento_backend.exceptions.TransicaoStatusException;
+import com.api.sistema_pagamento_backend.metricas.MetricasPagamento;
+import com.api.sistema_pagamento_backend.repositories.PagamentoRepository;
+
+/* Serviço de atualização de status em lote (validação de fechamento de semestre pelo back office).
+ *
+ * Os pagamentos são informados por ID ou selecionados por filtro e processados em lotes, cada um na sua própria transação curta. Em cada
+ * lote os pagamentos que estão no status de origem da transição são travados com um único SELECT ... FOR UPDATE, o resumo é ajustado com
+ * um upsert por grupo e o status é alterado com um único UPDATE. Assim um lote de 1000 pagamentos custa um punhado de comandos, em vez
+ * de uma leitura e uma escrita por pagamento. As regras de transição são as mesmas da atualização individual (PagamentoStatus). */
+@Service
+public class AtualizacaoStatusLoteService {
+
+    @Autowired
+    private PagamentoRepository pagamentoRepository;
+
+    @Autowired
+    private AgregacaoPagamentoService agregacaoPagamentoService;
+
+    @Autowired
+    private EventoPagamentoService eventoPagamentoService;
+
+    @Autowired
+    private MetricasPagamento metricasPagamento;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${pagamentos.atualizacao-lote.tamanho-lote:1000}")
+    private int tamanhoLote;
+
+    /**
+     * Método para atualizar o status de vários pagamentos.
+     * @param pedido Os IDs ou os filtros dos pagamentos e o novo status.
+     * @return O resultado de cada pagamento processado.
+     * @throws RequisicaoInvalidaException Se o novo status não foi informado, ou se não há IDs nem filtros.
+     * @throws TransicaoStatusException Se nenhum pagamento pode passar para o status pedido.
+     */
+    public AtualizacaoStatusLoteResultadoDto atualizarStatus(AtualizacaoStatusLoteDto pedido) {
+        PagamentoStatus novoStatus = pedido.getNovoStatus();
+        if (novoStatus == null) {
+            throw new RequisicaoInvalidaException("O novo status é obrigatório");
+        }
+        PagamentoStatus statusAnterior = novoStatus.origem();
+        if (statusAnterior == null) {
+            throw new TransicaoStatusException("Nenhum pagamento pode passar para o status " + novoStatus);
+        }
+
+        AtualizacaoStatusLoteResultadoDto resultado = new AtualizacaoStatusLoteResultadoDto();
+        if (pedido.getIds() != null && !pedido.getIds().isEmpty()) {
+            List<Long> ids = new ArrayList<>(new LinkedHashSet<>(pedido.getIds())); // remove IDs repetidos mantendo a ordem
+            for (int inicio = 0; inicio < ids.size(); inicio += tamanhoLote) {
+                processarLote(ids.subList(inicio, Math.min(inicio + tamanhoLote, ids.size())), statusAnterior, novoStatus, resultado);
+            }
+            return resultado;
+        }
+
+        if (pedido.getPagamentoStatus() == null && pedido.getTipoPagamento() == null && pedido.getDataInicio() == null && pedido.getDataFim() == null) {
+            throw new RequisicaoInvalidaException("Informe os IDs dos pagamentos ou ao menos um filtro (pagamentoStatus, tipoPagamento, dataInicio, dataFim)");
+        }
+
+        // Seleção por filtro: os IDs são percorridos por keyset, assim pagamentos que não mudaram de status não são lidos de novo
+        PagamentoStatus statusFiltro = pedido.getPagamentoStatus() != null ? pedido.getPagamentoStatus() : statusAnterior;
+        long ultimoId = 0;
+        List<Long> ids;
+        do {
+            ids = pagamentoRepository.findIdsByFiltro(ultimoId, statusFiltro, pedido.getTipoPagamento(), pedido.getDataInicio(), pedido.getDataFim(), Limit.of(tamanhoLote));
+            if (!ids.isEmpty()) {
+                processarLote(ids, statusAnterior, novoStatus, resultado);
+                ultimoId = ids.get(ids.size() - 1);
+            }
+        } while (ids.size() == tamanhoLote);
+        return resultado;
+    }
+
+
+    // Aplica a transição a um lote de IDs em uma única transação e registra o resultado de cada pagamento
+    private void processarLote(List<Long> ids, PagamentoStatus statusAnterior, PagamentoStatus novoStatus, AtualizacaoStatusLoteResultadoDto resultado) {
+        resultado.setTotalPagamentos(resultado.getTotalPagamentos() + ids.size());
+        try {
+            List<ResultadoAtualizacaoStatusDto> resultados = transactionTemplate.execute(status -> {
+                List<Long> elegiveis = pagamentoRepository.travarIdsPorStatus(ids, statusAnterior.name());
+                if (!elegiveis.isEmpty()) {
+                    agregacaoPagamentoService.registrarMudancaStatus(elegiveis, statusAnterior, novoStatus);
+                    pagamentoRepository.atualizarStatusEmLote(elegiveis, statusAnterior, novoStatus);
+                    eventoPagamentoService.registrarMudancaStatus(elegiveis, statusAnterior);
+                }
+                return classificar(ids, new HashSet<>(elegiveis), novoStatus);
+            });
+
+            long atualizados = resultados.stream().filter(r -> r.getResultado() == ResultadoAtualizacaoStatus.ATUALIZADO).count();
+            resultado.setAtualizados(resultado.getAtualizados() + atualizados);
+            resultado.getResultados().addAll(resultados);
+            metricasPagamento.registrarTransicoes(statusAnterior, novoStatus, atualizados);
+        } catch (DataAccessException | TransactionException e) {
+            // O lote inteiro foi desfeito
+            String mensagem = "Falha ao atualizar o lote: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            ids.forEach(id -> resultado.getResultados().add(new ResultadoAtualizacaoStatusDto(id, ResultadoAtualizacaoStatus.ERRO, mensagem)));
+        }
+    }
+
+    // Monta o resultado de cada ID; o status atual só é consultado para os pagamentos que não foram atualizados
+    private List<ResultadoAtualizacaoStatusDto> classificar(List<Long> ids, Set<Long> atualizados, PagamentoStatus novoStatus) {
+        Map<Long, PagamentoStatus> statusAtual = new HashMap<>();
+        if (atualizados.size() < ids.size()) {
+            List<Long> restantes = ids.stream().filter(id -> !atualizados.contains(id)).toList();
+            for (Object[] linha : pagamentoRepository.findStatusByIdIn(restantes)) {
+                statusAtual.put((Long) linha[0], (PagamentoStatus) linha[1]);
+            }
+        }
+
+        List<ResultadoAtualizacaoStatusDto> resultados = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            if (atualizados.contains(id)) {
+                resultados.add(new ResultadoAtualizacaoStatusDto(id, ResultadoAtualizacaoStatus.ATUALIZADO, null));
+            } else if (!statusAtual.containsKey(id)) {
+                resultados.add(new ResultadoAtualizacaoStatusDto(id, ResultadoAtualizacaoStatus.NAO_ENCONTRADO, "Pagamento não encontrado com o ID: " + id));
+            } else if (statusAtual.get(id) == novoStatus) {
+                resultados.add(new ResultadoAtualizacaoStatusDto(id, ResultadoAtualizacaoStatus.JA_NO_STATUS, null));
+            } else {
+                resultados.add(new ResultadoAtualizacaoStatusDto(id, ResultadoAtualizacaoStatus.TRANSICAO_INVALIDA,
+                        "Não é possível mudar o status de " + statusAtual.get(id) + " para " + novoStatus));
+            }
+        }
+        return resultados;
+    }
+}
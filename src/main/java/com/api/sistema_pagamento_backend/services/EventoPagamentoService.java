@@ -0,0 +1,160 @@
+package com.api.sistema_pagamento_backend.services;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.api.sistema_pagamento_backend.entities.EventoPagamento;
+import com.api.sistema_pagamento_backend.enums.PagamentoStatus;
+import com.api.sistema_pagamento_backend.enums.TipoEventoPagamento;
+import com.api.sistema_pagamento_backend.eventos.BarramentoEventosPagamento;
+import com.api.sistema_pagamento_backend.repositories.EventoPagamentoRepository;
+
+/* Serviço do feed de eventos de pagamento.
+ *
+ * Produtores: a criação e a mudança de status dos pagamentos gravam os eventos na tabela de saída (outbox) dentro da própria transação,
+ * e pedem ao relay a publicação logo após o commit.
+ *
+ * Consumidores: leem os eventos a partir de uma posição (offset) por long-poll ou por Server-Sent Events, e retomam de onde pararam
+ * informando a última posição recebida. Em vez de varrer /pagamento/porStatus, recebem apenas o que mudou. As esperas rodam no executor
+ * de eventos (virtual threads), sem ocupar as threads do Tomcat. */
+@Service
+public class EventoPagamentoService {
+
+    @Autowired
+    private EventoPagamentoRepository eventoPagamentoRepository;
+
+    @Autowired
+    private RelayEventoPagamentoService relayEventoPagamentoService;
+
+    @Autowired
+    private BarramentoEventosPagamento barramentoEventosPagamento;
+
+    @Autowired
+    @Qualifier("eventoExecutor")
+    private Executor eventoExecutor;
+
+    @Value("${pagamentos.eventos.limite-maximo:500}")
+    private int limiteMaximo;
+
+    @Value("${pagamentos.eventos.espera-maxima:PT30S}")
+    private Duration esperaMaxima;
+
+    @Value("${pagamentos.eventos.sse.timeout:PT30M}")
+    private Duration timeoutSse;
+
+    @Value("${pagamentos.eventos.sse.heartbeat:PT15S}")
+    private Duration heartbeatSse;
+
+    /**
+     * Método para registrar a criação de pagamentos (deve ser chamado na transação que os inseriu).
+     * @param pagamentoIds Os IDs dos pagamentos criados.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarCriacao(Collection<Long> pagamentoIds) {
+        registrar(pagamentoIds, TipoEventoPagamento.CRIADO, null);
+    }
+
+    /**
+     * Método para registrar a mudança de status de pagamentos (deve ser chamado na transação que os alterou, depois do UPDATE).
+     * @param pagamentoIds Os IDs dos pagamentos alterados.
+     * @param statusAnterior O status antes da mudança.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarMudancaStatus(Collection<Long> pagamentoIds, PagamentoStatus statusAnterior) {
+        registrar(pagamentoIds, TipoEventoPagamento.STATUS_ALTERADO, statusAnterior);
+    }
+
+    private void registrar(Collection<Long> pagamentoIds, TipoEventoPagamento tipoEvento, PagamentoStatus statusAnterior) {
+        if (pagamentoIds.isEmpty()) {
+            return;
+        }
+        eventoPagamentoRepository.registrar(pagamentoIds, tipoEvento.name(), statusAnterior == null ? null : statusAnterior.name(), LocalDateTime.now());
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                relayEventoPagamentoService.solicitarPublicacao();
+            }
+        });
+    }
+
+    /**
+     * Método para buscar os eventos depois de uma posição, aguardando (long-poll) quando ainda não há eventos novos.
+     * @param aPartirDe A última posição já recebida pelo consumidor (0 para ler desde o início da retenção).
+     * @param limite A quantidade máxima de eventos (limitada pelo máximo configurado).
+     * @param espera O tempo máximo de espera por eventos novos (limitado pelo máximo configurado; zero responde imediatamente).
+     * @return Os eventos em ordem de posição, possivelmente vazio quando a espera expira.
+     */
+    public CompletableFuture<List<EventoPagamento>> aguardarEventos(long aPartirDe, int limite, Duration espera) {
+        int quantidade = limite <= 0 ? limiteMaximo : Math.min(limite, limiteMaximo);
+        Duration tempo = espera.compareTo(esperaMaxima) > 0 ? esperaMaxima : espera;
+        return CompletableFuture.supplyAsync(() -> {
+            List<EventoPagamento> eventos = buscar(aPartirDe, quantidade);
+            if (eventos.isEmpty() && !tempo.isZero() && !tempo.isNegative()) {
+                barramentoEventosPagamento.aguardar(aPartirDe, tempo);
+                eventos = buscar(aPartirDe, quantidade); // relido mesmo quando a espera expira (eventos publicados por outra instância)
+            }
+            return eventos;
+        }, eventoExecutor);
+    }
+
+    /**
+     * Método para assinar o feed de eventos por Server-Sent Events. Cada evento é enviado com o id igual à sua posição, então o
+     * EventSource do navegador retoma automaticamente pelo cabeçalho Last-Event-ID ao reconectar.
+     * @param aPartirDe A última posição já recebida pelo consumidor.
+     * @return O emitter da conexão SSE.
+     */
+    public SseEmitter assinarEventos(long aPartirDe) {
+        SseEmitter emitter = new SseEmitter(timeoutSse.toMillis());
+        AtomicBoolean ativo = new AtomicBoolean(true);
+        emitter.onCompletion(() -> ativo.set(false));
+        emitter.onTimeout(() -> ativo.set(false));
+        emitter.onError(erro -> ativo.set(false));
+
+        eventoExecutor.execute(() -> {
+            long ultimaPosicao = aPartirDe;
+            try {
+                while (ativo.get() && !Thread.currentThread().isInterrupted()) {
+                    List<EventoPagamento> eventos = buscar(ultimaPosicao, limiteMaximo);
+                    if (eventos.isEmpty()) {
+                        if (!barramentoEventosPagamento.aguardar(ultimaPosicao, heartbeatSse) && ativo.get()) {
+                            emitter.send(SseEmitter.event().comment("heartbeat")); // mantém a conexão aberta em proxies e detecta clientes desconectados
+                        }
+                        continue;
+                    }
+                    for (EventoPagamento evento : eventos) {
+                        emitter.send(SseEmitter.event()
+                                .id(String.valueOf(evento.getPosicao()))
+                                .name(evento.getTipoEvento().name())
+                                .data(evento, MediaType.APPLICATION_JSON));
+                        ultimaPosicao = evento.getPosicao();
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                emitter.completeWithError(e); // cliente desconectado ou emitter já encerrado
+            }
+        });
+        return emitter;
+    }
+
+    private List<EventoPagamento> buscar(long aPartirDe, int limite) {
+        return eventoPagamentoRepository.findByPosicaoGreaterThanOrderByPosicaoAsc(aPartirDe, Limit.of(limite));
+    }
+}
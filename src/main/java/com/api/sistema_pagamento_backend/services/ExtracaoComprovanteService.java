@@ -0,0 +1,213 @@
+package com.api.sistema_pagamento_backend.services;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.NoSuchFileException;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import javax.imageio.ImageIO;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.io.RandomAccessReadBuffer;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.api.sistema_pagamento_backend.entities.MetadadosComprovante;
+import com.api.sistema_pagamento_backend.metricas.MetricasPagamento;
+import com.api.sistema_pagamento_backend.repositories.MetadadosComprovanteRepository;
+import com.api.sistema_pagamento_backend.storage.ComprovanteStorage;
+
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/* Extração dos metadados dos comprovantes em segundo plano: quantidade de páginas, SHA-256, tamanho e uma miniatura PNG da primeira
+ * página, gravada ao lado do comprovante.
+ *
+ * A extração é pedida logo depois do commit de cada novo pagamento e roda no executor de extração (pool pequeno e fila limitada), fora do
+ * caminho da requisição de upload. Uma varredura periódica processa os comprovantes que ficaram sem metadados: pedidos recusados com a
+ * fila cheia, perdidos em um reinício e comprovantes antigos. Um comprovante que não pode ser lido como PDF recebe o motivo em "erro" e
+ * não é processado de novo; já uma falha de leitura ou gravação do arquivo (ex.: arquivo temporariamente inacessível) não grava nada, e o
+ * comprovante é tentado de novo pela varredura. */
+@Slf4j
+@Service
+public class ExtracaoComprovanteService {
+
+    private static final int TAMANHO_MAXIMO_ERRO = 255;
+
+    @Autowired
+    private MetadadosComprovanteRepository metadadosComprovanteRepository;
+
+    @Autowired
+    private ComprovanteStorage comprovanteStorage;
+
+    @Autowired
+    private MetricasPagamento metricasPagamento;
+
+    @Autowired
+    @Qualifier("extracaoExecutor")
+    private Executor extracaoExecutor;
+
+    @Value("${comprovantes.extracao.largura-miniatura:200}")
+    private int larguraMiniatura;
+
+    @Value("${comprovantes.extracao.tamanho-lote:100}")
+    private int tamanhoLote;
+
+    // Referências na fila ou em processamento nesta instância, para que o mesmo arquivo não seja processado duas vezes ao mesmo tempo
+    private final Set<String> emAndamento = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Método para pedir a extração dos metadados de um comprovante em segundo plano.
+     * @param referencia A referência do comprovante (Pagamento.file).
+     */
+    public void solicitarExtracao(String referencia) {
+        if (referencia == null || !emAndamento.add(referencia)) {
+            return;
+        }
+        try {
+            extracaoExecutor.execute(() -> processar(referencia));
+        } catch (RejectedExecutionException e) {
+            emAndamento.remove(referencia); // fila cheia: a varredura periódica tenta de novo
+        }
+    }
+
+    /**
+     * Método executado periodicamente para extrair os metadados dos comprovantes que ainda não foram processados.
+     */
+    @Scheduled(initialDelayString = "${comprovantes.extracao.intervalo:PT5M}", fixedDelayString = "${comprovantes.extracao.intervalo:PT5M}")
+    public void processarPendentes() {
+        try {
+            metadadosComprovanteRepository.findReferenciasSemMetadados(Limit.of(tamanhoLote)).forEach(this::solicitarExtracao);
+        } catch (DataAccessException e) {
+            log.warn("Falha ao buscar os comprovantes pendentes de extração", e);
+        }
+    }
+
+    /**
+     * Método para buscar os metadados do comprovante de um pagamento.
+     * @param pagamentoId O ID do pagamento.
+     * @return Os metadados, ou vazio enquanto a extração ainda não terminou.
+     */
+    @Transactional(readOnly = true)
+    public Optional<MetadadosComprovante> buscarMetadados(Long pagamentoId) {
+        return metadadosComprovanteRepository.findByPagamentoId(pagamentoId);
+    }
+
+    /**
+     * Método para abrir a miniatura da primeira página de um comprovante.
+     * @param metadados Os metadados do comprovante, com a referência da miniatura.
+     * @return A miniatura (PNG) como Resource.
+     * @throws IOException Se a miniatura não existir ou não puder ser lida.
+     */
+    public Resource carregarMiniatura(MetadadosComprovante metadados) throws IOException {
+        return comprovanteStorage.carregar(metadados.getMiniatura());
+    }
+
+    private void processar(String referencia) {
+        try {
+            if (!metadadosComprovanteRepository.existsById(referencia)) {
+                metadadosComprovanteRepository.save(extrair(referencia));
+            }
+        } catch (IOException e) {
+            log.warn("Falha de leitura ou gravação ao extrair os metadados do comprovante {}; nova tentativa na próxima varredura: {}", referencia,
+                    e.toString());
+        } catch (DataAccessException e) {
+            log.warn("Falha ao gravar os metadados do comprovante {}", referencia, e);
+        } finally {
+            emAndamento.remove(referencia);
+        }
+    }
+
+    /* Extrai os metadados do comprovante. Só as falhas ao interpretar o PDF ficam registradas em "erro" (definitivas); as falhas de E/S ao
+     * ler o arquivo ou gravar a miniatura são lançadas como IOException, para que a extração seja repetida. */
+    private MetadadosComprovante extrair(String referencia) throws IOException {
+        MetadadosComprovante metadados = new MetadadosComprovante();
+        metadados.setReferencia(referencia);
+        Timer.Sample amostra = metricasPagamento.iniciar();
+        try {
+            Resource comprovante = comprovanteStorage.carregar(referencia);
+            metadados.setTamanho(comprovante.contentLength());
+            metadados.setSha256(calcularSha256(comprovante)); // o arquivo foi lido por inteiro: uma falha ao abri-lo a seguir é do conteúdo
+
+            byte[] miniatura = null;
+            try (PDDocument documento = abrir(comprovante)) {
+                metadados.setPaginas(documento.getNumberOfPages());
+                if (documento.getNumberOfPages() > 0) {
+                    miniatura = renderizarMiniatura(documento);
+                }
+            } catch (FileNotFoundException | NoSuchFileException e) {
+                throw e; // o arquivo sumiu entre a leitura e a abertura
+            } catch (IOException | RuntimeException e) {
+                // Arquivo corrompido ou protegido por senha: o PDFBox também lança exceções não verificadas para conteúdo malformado
+                log.info("Não foi possível interpretar o comprovante {} como PDF: {}", referencia, e.toString());
+                String erro = e.toString();
+                metadados.setErro(erro.length() > TAMANHO_MAXIMO_ERRO ? erro.substring(0, TAMANHO_MAXIMO_ERRO) : erro);
+            }
+            if (miniatura != null) {
+                metadados.setMiniatura(comprovanteStorage.salvarMiniatura(referencia, miniatura));
+            }
+        } finally {
+            metricasPagamento.registrar(amostra, MetricasPagamento.EXTRACAO_COMPROVANTE);
+        }
+        metadados.setProcessadoEm(LocalDateTime.now());
+        return metadados;
+    }
+
+    // Arquivos em disco são abertos com acesso aleatório e o cache de objetos do PDFBox vai para arquivo temporário, não para a memória
+    private static PDDocument abrir(Resource comprovante) throws IOException {
+        if (comprovante.isFile()) {
+            return Loader.loadPDF(comprovante.getFile(), IOUtils.createTempFileOnlyStreamCache());
+        }
+        try (InputStream conteudo = comprovante.getInputStream()) {
+            return Loader.loadPDF(new RandomAccessReadBuffer(conteudo));
+        }
+    }
+
+    // Renderiza a primeira página na largura configurada, mantendo a proporção
+    private byte[] renderizarMiniatura(PDDocument documento) throws IOException {
+        PDRectangle pagina = documento.getPage(0).getCropBox();
+        float escala = larguraMiniatura / Math.max(pagina.getWidth(), 1f);
+        BufferedImage imagem = new PDFRenderer(documento).renderImage(0, escala, ImageType.RGB);
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        ImageIO.write(imagem, "png", saida);
+        return saida.toByteArray();
+    }
+
+    private static String calcularSha256(Resource comprovante) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Algoritmo SHA-256 indisponível", e);
+        }
+        try (InputStream conteudo = new DigestInputStream(comprovante.getInputStream(), digest)) {
+            conteudo.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
@@ -0,0 +1,257 @@
+package com.api.sistema_pagamento_backend.services;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.api.sistema_pagamento_backend.dtos.ErroImportacaoDto;
+import com.api.sistema_pagamento_backend.dtos.ImportacaoResultadoDto;
+import com.api.sistema_pagamento_backend.dtos.NewPagamentoDto;
+import com.api.sistema_pagamento_backend.entities.Estudante;
+import com.api.sistema_pagamento_backend.entities.Pagamento;
+import com.api.sistema_pagamento_backend.enums.FormatoImportacao;
+import com.api.sistema_pagamento_backend.enums.PagamentoStatus;
+import com.api.sistema_pagamento_backend.enums.TipoPagamento;
+import com.api.sistema_pagamento_backend.exceptions.RequisicaoInvalidaException;
+import com.api.sistema_pagamento_backend.repositories.EstudanteRepository;
+import com.api.sistema_pagamento_backend.repositories.PagamentoRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+
+/* Serviço de importação em massa de pagamentos (CSV ou NDJSON).
+ *
+ * O arquivo é lido linha a linha e processado em lotes: para cada lote os códigos de estudante são resolvidos em uma única consulta
+ * (IN), os pagamentos válidos são inseridos em batch pelo Hibernate (hibernate.jdbc.batch_size + ID por sequence com otimizador pooled)
+ * e o contexto de persistência é limpo. Cada lote roda na sua própria transação curta, então uma falha em um lote não desfaz os lotes
+ * anteriores. As linhas rejeitadas são devolvidas com o número da linha e o motivo.
+ *
+ * No CSV todas as linhas usam um único delimitador, vírgula ou ponto e vírgula, informado na requisição ou detectado na primeira linha
+ * (ponto e vírgula se ela contiver algum). Com ponto e vírgula, o valor pode usar vírgula decimal (padrão pt-BR, ex.: 1500,50). Campos
+ * entre aspas duplas podem conter o delimitador ("" representa uma aspa), e uma linha que mistura os dois delimitadores é rejeitada. */
+@Service
+public class ImportacaoPagamentoService {
+
+    @Autowired
+    private EstudanteRepository estudanteRepository;
+
+    @Autowired
+    private PagamentoRepository pagamentoRepository;
+
+    @Autowired
+    private AgregacaoPagamentoService agregacaoPagamentoService;
+
+    @Autowired
+    private EventoPagamentoService eventoPagamentoService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${pagamentos.importacao.tamanho-lote:1000}")
+    private int tamanhoLote;
+
+    /**
+     * Método para importar pagamentos em massa.
+     * @param conteudo O conteúdo do arquivo enviado.
+     * @param formato O formato do arquivo (CSV ou NDJSON).
+     * @param delimitador O delimitador dos campos do CSV (',' ou ';'), ou nulo para detectar pela primeira linha.
+     * @return O resumo da importação com os erros por linha.
+     * @throws IOException Se ocorrer algum erro ao ler o conteúdo.
+     * @throws RequisicaoInvalidaException Se o delimitador informado não for ',' nem ';' (400 Bad Request).
+     */
+    public ImportacaoResultadoDto importarPagamentos(InputStream conteudo, FormatoImportacao formato, Character delimitador) throws IOException {
+        if (delimitador != null && delimitador != ',' && delimitador != ';') {
+            throw new RequisicaoInvalidaException("Delimitador inválido: " + delimitador + " (use ',' ou ';')");
+        }
+        ImportacaoResultadoDto resultado = new ImportacaoResultadoDto();
+        Map<Long, NewPagamentoDto> lote = new LinkedHashMap<>(); // número da linha -> pagamento lido
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(conteudo, StandardCharsets.UTF_8));
+        String linha;
+        long numeroLinha = 0;
+        while ((linha = reader.readLine()) != null) {
+            numeroLinha++;
+            if (linha.isBlank()) {
+                continue;
+            }
+            if (formato == FormatoImportacao.CSV && delimitador == null) {
+                delimitador = linha.indexOf(';') >= 0 ? ';' : ',';
+            }
+            if (numeroLinha == 1 && formato == FormatoImportacao.CSV && ehCabecalho(linha)) {
+                continue;
+            }
+
+            resultado.setTotalLinhas(resultado.getTotalLinhas() + 1);
+            try {
+                lote.put(numeroLinha, lerLinha(linha, formato, delimitador));
+            } catch (Exception e) {
+                resultado.getErros().add(new ErroImportacaoDto(numeroLinha, "Linha inválida: " + e.getMessage()));
+            }
+
+            if (lote.size() >= tamanhoLote) {
+                gravarLote(lote, resultado);
+                lote.clear();
+            }
+        }
+        if (!lote.isEmpty()) {
+            gravarLote(lote, resultado);
+        }
+        return resultado;
+    }
+
+
+    // Valida e insere um lote de pagamentos em uma única transação
+    private void gravarLote(Map<Long, NewPagamentoDto> lote, ImportacaoResultadoDto resultado) {
+        Set<String> codigos = lote.values().stream()
+                .map(NewPagamentoDto::getCodigoEstudante)
+                .filter(codigo -> codigo != null && !codigo.isBlank())
+                .collect(Collectors.toSet());
+
+        List<Long> linhasValidas = new ArrayList<>();
+        try {
+            Integer inseridos = transactionTemplate.execute(status -> {
+                Map<String, Estudante> estudantes = estudanteRepository.findByCodigoIn(codigos).stream()
+                        .collect(Collectors.toMap(Estudante::getCodigo, Function.identity()));
+
+                List<Pagamento> pagamentos = new ArrayList<>(lote.size());
+                lote.forEach((numeroLinha, dto) -> {
+                    String motivo = validar(dto, estudantes);
+                    if (motivo != null) {
+                        resultado.getErros().add(new ErroImportacaoDto(numeroLinha, motivo));
+                        return;
+                    }
+                    linhasValidas.add(numeroLinha);
+                    pagamentos.add(Pagamento.builder()
+                            .estudante(estudantes.get(dto.getCodigoEstudante()))
+                            .valor(dto.getValor())
+                            .tipoPagamento(dto.getTipoPagamento())
+                            .pagamentoStatus(PagamentoStatus.CRIADO)
+                            .data(dto.getData())
+                            .build());
+                });
+
+                pagamentoRepository.saveAll(pagamentos);
+                agregacaoPagamentoService.registrarPagamentos(pagamentos); // um upsert no resumo por grupo do lote
+                eventoPagamentoService.registrarCriacao(pagamentos.stream().map(Pagamento::getId).toList()); // um INSERT ... SELECT por lote
+                entityManager.flush();
+                entityManager.clear();
+                return pagamentos.size();
+            });
+            resultado.setImportados(resultado.getImportados() + inseridos);
+        } catch (DataAccessException | TransactionException | PersistenceException e) {
+            // O lote inteiro foi desfeito: as linhas que passaram na validação também são reportadas como erro. O flush direto no
+            // EntityManager lança a PersistenceException do JPA, sem a tradução do Spring para DataAccessException
+            for (Long numeroLinha : linhasValidas) {
+                resultado.getErros().add(new ErroImportacaoDto(numeroLinha, "Falha ao gravar o lote: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage()));
+            }
+        }
+    }
+
+    // Retorna o motivo da rejeição da linha, ou null quando ela é válida
+    private String validar(NewPagamentoDto dto, Map<String, Estudante> estudantes) {
+        if (dto.getValor() <= 0) {
+            return "Valor deve ser maior que zero";
+        }
+        if (dto.getTipoPagamento() == null) {
+            return "Tipo de pagamento não informado";
+        }
+        if (dto.getData() == null) {
+            return "Data não informada";
+        }
+        if (!estudantes.containsKey(dto.getCodigoEstudante())) {
+            return "Estudante não encontrado com o código: " + dto.getCodigoEstudante();
+        }
+        return null;
+    }
+
+    private NewPagamentoDto lerLinha(String linha, FormatoImportacao formato, Character delimitador) throws IOException {
+        if (formato == FormatoImportacao.NDJSON) {
+            return objectMapper.readValue(linha, NewPagamentoDto.class);
+        }
+
+        List<String> campos = dividirCampos(linha, delimitador);
+        if (campos.size() != 4) {
+            throw new IllegalArgumentException("esperados 4 campos (valor" + delimitador + "tipoPagamento" + delimitador + "data" + delimitador
+                    + "codigoEstudante), encontrados " + campos.size());
+        }
+        String valor = campos.get(0).trim();
+        return new NewPagamentoDto(
+                Double.parseDouble(delimitador == ';' ? valor.replace(',', '.') : valor), // vírgula decimal no CSV com ponto e vírgula
+                TipoPagamento.valueOf(campos.get(1).trim().toUpperCase()),
+                LocalDate.parse(campos.get(2).trim()),
+                campos.get(3).trim());
+    }
+
+    /**
+     * Método para dividir uma linha do CSV nos seus campos. Um campo entre aspas duplas pode conter o delimitador, e "" dentro dele
+     * representa uma aspa.
+     * @param linha A linha do CSV.
+     * @param delimitador O delimitador dos campos (',' ou ';').
+     * @return Os campos da linha, sem as aspas.
+     * @throws IllegalArgumentException Se as aspas não forem fechadas ou se a linha usar o outro delimitador fora de aspas (a vírgula
+     * só é aceita no valor, como separador decimal, quando o delimitador é ponto e vírgula).
+     */
+    private static List<String> dividirCampos(String linha, char delimitador) {
+        char outro = delimitador == ',' ? ';' : ',';
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreAspas = false;
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (entreAspas) {
+                if (c == '"' && i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                    campo.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreAspas = false;
+                } else {
+                    campo.append(c);
+                }
+            } else if (c == '"') {
+                entreAspas = true;
+            } else if (c == delimitador) {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else if (c == outro && !(outro == ',' && campos.isEmpty())) {
+                throw new IllegalArgumentException("a linha mistura os delimitadores '" + delimitador + "' e '" + outro + "'");
+            } else {
+                campo.append(c);
+            }
+        }
+        if (entreAspas) {
+            throw new IllegalArgumentException("aspas não fechadas");
+        }
+        campos.add(campo.toString());
+        return campos;
+    }
+
+    private boolean ehCabecalho(String linha) {
+        return linha.trim().replace("\"", "").toLowerCase().startsWith("valor");
+    }
+}
@@ -0,0 +1,87 @@
+package com.api.sistema_pagamento_backend.services;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.api.sistema_pagamento_backend.repositories.PagamentoRepository;
+import com.api.sistema_pagamento_backend.storage.ComprovanteStorage;
+
+import lombok.extern.slf4j.Slf4j;
+
+/* Rotina em segundo plano que remove do armazenamento:
+ * - arquivos temporários de uploads interrompidos;
+ * - comprovantes que não são referenciados por nenhum pagamento (ex.: o INSERT falhou depois da gravação do arquivo).
+ * Só são considerados arquivos mais antigos que a idade mínima configurada, para não disputar com uploads em andamento. */
+@Slf4j
+@Service
+public class LimpezaComprovanteService {
+
+    private static final int LOTE_VERIFICACAO = 500;
+
+    @Autowired
+    private ComprovanteStorage comprovanteStorage;
+
+    @Autowired
+    private PagamentoRepository pagamentoRepository;
+
+    @Value("${comprovantes.limpeza.idade-minima:PT24H}")
+    private Duration idadeMinima;
+
+    /**
+     * Método executado periodicamente para limpar arquivos temporários e comprovantes órfãos.
+     */
+    @Scheduled(initialDelayString = "${comprovantes.limpeza.intervalo:PT1H}", fixedDelayString = "${comprovantes.limpeza.intervalo:PT1H}")
+    public void limparComprovantes() {
+        Instant limite = Instant.now().minus(idadeMinima);
+        try {
+            int temporarios = comprovanteStorage.limparTemporarios(limite);
+            int orfaos = removerOrfaos(limite);
+            if (temporarios > 0 || orfaos > 0) {
+                log.info("Limpeza de comprovantes: {} temporário(s) e {} órfão(s) removido(s)", temporarios, orfaos);
+            }
+        } catch (IOException e) {
+            log.warn("Falha na limpeza de comprovantes", e);
+        }
+    }
+
+    // Verifica as referências em lotes (uma consulta IN por lote) e remove as que não pertencem a nenhum pagamento
+    private int removerOrfaos(Instant limite) throws IOException {
+        int removidos = 0;
+        List<String> lote = new ArrayList<>(LOTE_VERIFICACAO);
+        try (Stream<String> referencias = comprovanteStorage.listarReferencias(limite)) {
+            for (String referencia : (Iterable<String>) referencias::iterator) {
+                lote.add(referencia);
+                if (lote.size() == LOTE_VERIFICACAO) {
+                    removidos += removerNaoReferenciados(lote, limite);
+                    lote.clear();
+                }
+            }
+        }
+        if (!lote.isEmpty()) {
+            removidos += removerNaoReferenciados(lote, limite);
+        }
+        return removidos;
+    }
+
+    private int removerNaoReferenciados(List<String> lote, Instant limite) throws IOException {
+        Set<String> referenciados = new HashSet<>(pagamentoRepository.findFilesIn(lote));
+        int removidos = 0;
+        for (String referencia : lote) {
+            if (!referenciados.contains(referencia) && comprovanteStorage.remover(referencia, limite)) {
+                removidos++;
+            }
+        }
+        return removidos;
+    }
+}
@@ -1,24 +1,68 @@
 package com.api.sistema_pagamento_backend.services;
 
 import java.io.IOException;
-import java.net.URI;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.time.LocalDate;
-import java.util.UUID;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.api.sistema_pagamento_backend.dtos.FiltroBuscaPagamentoDto;
+import com.api.sistema_pagamento_backend.dtos.PagamentoBuscaDto;
+import com.api.sistema_pagamento_backend.dtos.PaginaDto;
+import com.api.sistema_pagamento_backend.entities.ChaveIdempotencia;
 import com.api.sistema_pagamento_backend.entities.Estudante;
 import com.api.sistema_pagamento_backend.entities.Pagamento;
+import com.api.sistema_pagamento_backend.enums.DetalhePagamento;
+import com.api.sistema_pagamento_backend.enums.OrdenacaoPagamento;
 import com.api.sistema_pagamento_backend.enums.PagamentoStatus;
 import com.api.sistema_pagamento_backend.enums.TipoPagamento;
+import com.api.sistema_pagamento_backend.exceptions.ComprovanteInvalidoException;
+import com.api.sistema_pagamento_backend.exceptions.RequisicaoInvalidaException;
+import com.api.sistema_pagamento_backend.exceptions.TransicaoStatusException;
+import com.api.sistema_pagamento_backend.metricas.LeituraMedidaResource;
+import com.api.sistema_pagamento_backend.metricas.MetricasPagamento;
+import com.api.sistema_pagamento_backend.repositories.ChaveIdempotenciaRepository;
 import com.api.sistema_pagamento_backend.repositories.EstudanteRepository;
+import com.api.sistema_pagamento_backend.repositories.PagamentoArquivadoRepository;
 import com.api.sistema_pagamento_backend.repositories.PagamentoRepository;
+import com.api.sistema_pagamento_backend.repositories.PagamentoSpecifications;
+import com.api.sistema_pagamento_backend.storage.ComprovanteStorage;
+import com.api.sistema_pagamento_backend.storage.ValidacaoPdfInputStream;
+import com.api.sistema_pagamento_backend.utils.CursorUtils;
+import com.api.sistema_pagamento_backend.utils.CursorUtils.Posicao;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Timer;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 
 /* A anotação @Transactional é usada para definir o escopo de uma transação em um método ou classe. Isso significa que todas as operações de banco de dados
  * realizadas dentro desse escopo serão tratadas como uma única unidade de trabalho. Se uma operação falhar, todas as alterações feitas durante a 
@@ -34,6 +78,55 @@ public class PagamentoService {
     @Autowired
     private PagamentoRepository pagamentoRepository;
 
+    @Autowired
+    private PagamentoArquivadoRepository pagamentoArquivadoRepository;
+
+    @Autowired
+    private ChaveIdempotenciaRepository chaveIdempotenciaRepository;
+
+    @Autowired
+    private ComprovanteStorage comprovanteStorage;
+
+    @Autowired
+    private AgregacaoPagamentoService agregacaoPagamentoService;
+
+    @Autowired
+    private EventoPagamentoService eventoPagamentoService;
+
+    @Autowired
+    private ExtracaoComprovanteService extracaoComprovanteService;
+
+    @Autowired
+    private MetricasPagamento metricasPagamento;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    @Qualifier("comprovanteExecutor")
+    private Executor comprovanteExecutor;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${pagamentos.paginacao.tamanho-padrao:50}")
+    private int tamanhoPaginaPadrao;
+
+    @Value("${pagamentos.paginacao.tamanho-maximo:500}")
+    private int tamanhoPaginaMaximo;
+
+    @Value("${pagamentos.idempotencia.retencao:PT24H}")
+    private Duration retencaoChavesIdempotencia;
+
+    @Value("${comprovantes.upload.tamanho-maximo:10MB}")
+    private DataSize tamanhoMaximoComprovante;
+
+    // Quantidade de linhas escritas no fluxo NDJSON antes de limpar o contexto de persistência
+    private static final int LOTE_EXPORTACAO = 500;
+
     /**
      * Método para salvar um pagamento.
      * @param file O arquivo do pagamento a ser salvo.
@@ -41,81 +134,89 @@ public class PagamentoService {
      * @param tipoPagamento O tipo de pagamento (ex: cartão de crédito, débito, etc.).
      * @param data A data do pagamento.
      * @param codigoEstudante O código do estudante associado ao pagamento.
-     * @return O pagamento criado.
-     * @throws IOException Se ocorrer algum erro durante o processamento do pagamento.
+     * @return O pagamento criado, concluído depois que o arquivo for gravado e o registro confirmado no banco.
+     * @throws ComprovanteInvalidoException Se o arquivo não for informado ou exceder o tamanho máximo (400 Bad Request).
+     * @throws RequisicaoInvalidaException Se o valor não for positivo ou o estudante não existir (400 Bad Request).
      */
-    public Pagamento salvarPagamento(MultipartFile file, double valor, TipoPagamento tipoPagamento, LocalDate data, String codigoEstudante) throws IOException {
-
-        /* Cria um objeto Path que representa o caminho para a pasta 'sistema_pagamento' que está localizada dentro da pasta 'documentos' do 
-         * diretório home do usuáro atual. O método .get() é utilizado para construir um objeto Path a partir de uma sequência de strings que
-         * representam partes de um caminho de arquivo ou diretório. O resultado final seria algo como no windows:
-         * "C:\Users\NomeDoUsuario\documentos\sistema_pagamento"
-         * */
-        Path folderPath = Paths.get(System.getProperty("user.home"), "documentos", "sistema_pagamento");
-
-        /* Files é uma classe utilitária que contém métodos para trabalhar com arquivos e diretórios. Aqui, vai verificar se o caminho NÃO existe.
-         * E se não existir, ele vai criar todos os diretórios necessários no caminho através do método .createDirectory(). */
-        if(!Files.exists(folderPath)) {
-            Files.createDirectories(folderPath);
-        }
-
-        /* Cria um identificador Único Universal (UUID) para o arquivo que será salvo. O método toString() vai transformar o UUID em uma string.
-         * Aqui, a variável "filename" vai armazenar a representação em string do UUID gerado.*/
-        String fileName = UUID.randomUUID().toString();
-
-        /* Obtêm o diretorio home do usuário atual. O método .get() vai construir um objeto Path a partir da sequencia de strings que representa
-         * o caminho do diretório. Aqui, vai construir o caminho completo para um arquivo PDF que será salvo na pasta "sistema_pagamento", 
-         * dentro da pasta "documentos" do diretório home do usuário. O nome do arquivo é gerado a partir de um UUID aleatório, garantindo que o 
-         * nome do arquivo seja único, e a extensão .pdf é adicionada para indicar que se trata de um arquivo PDF.
-        */
-        Path filePath = Paths.get(System.getProperty("user.home"),"documentos", "sistema_pagamento", fileName+".pdf");
-
-        /* Aqui, o método .copy() vai ser utilizado para copiar os dados de um fluxo de entrada  (InputStream) para um arquivo ou diretório 
-         * especificado pelo objeto Path (neste caso, filePath). A instância "file" vai lidar com os uploads de arquivos. O método .getInputStream()
-         * vai obter o fluxo de entrada (InputStream) que permite ler os dados do arquivo que foi enviado (ou seja, o arquivo que o usuário fez 
-         * upload). */
-        Files.copy(file.getInputStream(), filePath);
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<Pagamento> salvarPagamento(MultipartFile file, double valor, TipoPagamento tipoPagamento, LocalDate data, String codigoEstudante) {
 
+        /* O método não roda dentro da transação da classe (NOT_SUPPORTED): nenhuma conexão do pool fica presa enquanto o arquivo é copiado.
+         * Primeiro os dados são validados, assim um estudante inexistente não deixa um PDF órfão no disco. */
+        if (file == null || file.isEmpty()) {
+            throw new ComprovanteInvalidoException("O arquivo do comprovante é obrigatório");
+        }
+        if (file.getSize() > tamanhoMaximoComprovante.toBytes()) {
+            throw new ComprovanteInvalidoException("O comprovante excede o tamanho máximo de " + tamanhoMaximoComprovante);
+        }
+        if (valor <= 0) {
+            throw new RequisicaoInvalidaException("O valor do pagamento deve ser maior que zero");
+        }
         Estudante estudante = estudanteRepository.findByCodigo(codigoEstudante);
         if (estudante == null) {
-            throw new RuntimeException("Estudante não encontrado com o código: " + codigoEstudante);
+            throw new RequisicaoInvalidaException("Estudante não encontrado com o código: " + codigoEstudante);
         }
 
-        Pagamento pagamento = Pagamento.builder()
-                .estudante(estudante)
-                .valor(valor)
-                .tipoPagamento(tipoPagamento)
-                .pagamentoStatus(PagamentoStatus.CRIADO)
-                .data(data)
-                .file(filePath.toUri().toString())
-                .build();
-
-        return pagamentoRepository.save(pagamento);
-        
+        /* O arquivo é gravado pelo ComprovanteStorage no executor de I/O (virtual threads): o conteúdo é copiado uma única vez para a área
+         * temporária, endereçado pelo hash SHA-256, e a referência (URI) devolvida é salva em Pagamento.file. Só então o pagamento é
+         * inserido em uma transação curta. Se o INSERT falhar, o arquivo sem referência é removido depois pela LimpezaComprovanteService.
+         * Depois do commit, as páginas, o hash e a miniatura do comprovante são extraídos em segundo plano (ExtracaoComprovanteService). */
+        return CompletableFuture
+                .supplyAsync(() -> armazenarComprovante(file), comprovanteExecutor)
+                .thenApply(referenciaComprovante -> transactionTemplate.execute(status -> {
+                    Pagamento pagamento = pagamentoRepository.save(Pagamento.builder()
+                            .estudante(estudante)
+                            .valor(valor)
+                            .tipoPagamento(tipoPagamento)
+                            .pagamentoStatus(PagamentoStatus.CRIADO)
+                            .data(data)
+                            .file(referenciaComprovante)
+                            .build());
+                    agregacaoPagamentoService.registrarPagamento(pagamento); // atualiza o resumo na mesma transação
+                    eventoPagamentoService.registrarCriacao(List.of(pagamento.getId())); // evento na tabela de saída, na mesma transação
+                    return pagamento;
+                }))
+                .thenApply(pagamento -> {
+                    metricasPagamento.registrarTransicao(null, PagamentoStatus.CRIADO); // contado só depois do commit
+                    extracaoComprovanteService.solicitarExtracao(pagamento.getFile());
+                    return pagamento;
+                });
+    }
+
+    /* Copia o conteúdo do upload para o armazenamento de comprovantes e devolve a referência gravada. O conteúdo é validado durante a
+     * própria cópia (assinatura %PDF- e tamanho máximo), sem ser carregado na memória; o tipo declarado pelo cliente não é considerado. */
+    private String armazenarComprovante(MultipartFile file) {
+        Timer.Sample amostra = metricasPagamento.iniciar();
+        try (InputStream conteudo = new ValidacaoPdfInputStream(file.getInputStream(), tamanhoMaximoComprovante.toBytes())) {
+            String referencia = comprovanteStorage.salvar(conteudo);
+            metricasPagamento.registrarUpload(file.getSize());
+            return referencia;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao gravar o comprovante do pagamento", e);
+        } finally {
+            metricasPagamento.registrar(amostra, MetricasPagamento.GRAVACAO_COMPROVANTE);
+        }
     }
 
 
     /**
      * Método para obter o comprovante de pagamento por ID.
      * @param pagamentoId O ID do pagamento.
-     * @return O comprovante de pagamento como um array de bytes.
-     * @throws IOException Se ocorrer algum erro ao ler o arquivo.
+     * @return O comprovante de pagamento como um Resource apontando para o arquivo armazenado (o conteúdo não é carregado na memória).
+     * @throws IOException Se o arquivo do comprovante não puder ser lido.
      */
-    public byte[] obterComprovantePagamentoPorId(Long pagamentoId) throws IOException {
-        Pagamento pagamento = pagamentoRepository.findById(pagamentoId)
-                .orElseThrow(() -> new RuntimeException("Pagamento não encontrado com o ID: " + pagamentoId));
-        
-        /* Aqui, obtêm o caminho do arquivo associado a um pagamento, converte esse caminho de string para um URI, e então cria um objeto "Path" 
-         * a partir desse URI. Isso é útil para enviar o arquivo como resposta em uma requisição HTTP, por exemplo, quando um usuário solicita o 
-         * comprovante de pagamento. 
-         * 
-         * O método .readAllBytes() vai ler todos os bytes do arquivo e retornar como um array de bytes. 
-         * O método Path.of(URI uri) vai criar um objeto Path a partir do URI fornecido. 
-         * O método URI.create(String str) é utilizado para criar uma instância de URI a partir da string fornecida. Um URI é uma forma padronizada 
-         * de identificar um recurso, que pode ser um arquivo local, um recurso na web, etc.
-         * O método .getFile() vai lê e retornar o caminho do arquivo associado ao pagamento.
+    @Transactional(readOnly = true)
+    public Resource obterComprovantePagamentoPorId(Long pagamentoId) throws IOException {
+        String file = pagamentoRepository.findFileById(pagamentoId)
+                .or(() -> pagamentoArquivadoRepository.findFileById(pagamentoId)) // pagamento antigo, já arquivado: comprovante no ZIP do mês
+                .orElseThrow(() -> new RuntimeException("Comprovante não encontrado para o pagamento com o ID: " + pagamentoId));
+
+        /* Em vez de ler todos os bytes do arquivo (Files.readAllBytes), devolve um Resource: o Spring MVC copia o arquivo para a resposta em
+         * blocos de tamanho fixo e, quando a requisição traz o cabeçalho Range, envia apenas o trecho solicitado (206 Partial Content).
+         * Assim o consumo de memória é constante, qualquer que seja o tamanho do PDF. Como a leitura acontece depois do retorno, o tempo
+         * de leitura é medido pelo próprio Resource, da abertura ao fechamento do fluxo.
          */
-        return Files.readAllBytes(Path.of(URI.create(pagamento.getFile())));
+        return new LeituraMedidaResource(comprovanteStorage.carregar(file), metricasPagamento, MetricasPagamento.LEITURA_COMPROVANTE);
     }
 
 
@@ -123,15 +224,173 @@ public class PagamentoService {
      * Método para atualizar o status do pagamento.
      * @param pagamentoStatus O novo status do pagamento.
      * @param pagamentoId O ID do pagamento a ser atualizado.
+     * @param versao A versão do pagamento lida pelo cliente (opcional). Se informada, a mudança só é aplicada se o pagamento não foi alterado desde então.
+     * @param chaveIdempotencia A chave de idempotência da requisição (opcional). Repetições com a mesma chave devolvem o pagamento sem aplicar a mudança de novo.
      * @return O pagamento atualizado.
+     * @throws TransicaoStatusException Se a transição não é permitida ou o pagamento foi alterado por outra requisição.
      */
-    public Pagamento atualizarPagamentoPorStatus(PagamentoStatus pagamentoStatus, Long pagamentoId) {
-        Pagamento pagamento = pagamentoRepository.findById(pagamentoId)
+    public Pagamento atualizarPagamentoPorStatus(PagamentoStatus pagamentoStatus, Long pagamentoId, Long versao, String chaveIdempotencia) {
+        PagamentoStatus statusAnterior = pagamentoStatus.origem();
+        if (statusAnterior == null) {
+            throw new TransicaoStatusException("Nenhum pagamento pode passar para o status " + pagamentoStatus);
+        }
+
+        // A chave é reservada na mesma transação da mudança: se a mudança falhar, a reserva é desfeita junto
+        if (chaveIdempotencia != null
+                && chaveIdempotenciaRepository.reservar(chaveIdempotencia, pagamentoId, pagamentoStatus.name(), LocalDateTime.now()) == 0) {
+            ChaveIdempotencia registrada = chaveIdempotenciaRepository.findById(chaveIdempotencia).orElseThrow();
+            if (!registrada.getPagamentoId().equals(pagamentoId) || registrada.getPagamentoStatus() != pagamentoStatus) {
+                throw new TransicaoStatusException("A chave de idempotência já foi usada em outra requisição: " + chaveIdempotencia);
+            }
+            return buscarPagamento(pagamentoId);
+        }
+
+        /* Compare-and-set: o UPDATE só altera a linha se ela ainda estiver no status de origem da máquina de estados (e na versão informada).
+         * Não há leitura seguida de escrita, então duas validações simultâneas não se sobrescrevem: a segunda não altera nenhuma linha. */
+        if (pagamentoRepository.atualizarStatusSeAtual(pagamentoId, statusAnterior, pagamentoStatus, versao) == 0) {
+            Pagamento atual = buscarPagamento(pagamentoId);
+            if (versao == null && atual.getPagamentoStatus() == pagamentoStatus) {
+                return atual; // o pagamento já está no status pedido: a repetição não muda nada
+            }
+            throw new TransicaoStatusException("Não é possível mudar o status do pagamento " + pagamentoId + " de "
+                    + atual.getPagamentoStatus() + " (versão " + atual.getVersao() + ") para " + pagamentoStatus);
+        }
+
+        // Lê o pagamento já atualizado para a resposta e move-o para o grupo do novo status na tabela de resumo, na mesma transação
+        Pagamento atualizado = buscarPagamento(pagamentoId);
+        agregacaoPagamentoService.registrarMudancaStatus(atualizado, statusAnterior);
+        eventoPagamentoService.registrarMudancaStatus(List.of(pagamentoId), statusAnterior);
+
+        // A transição só é contada depois do commit: uma mudança desfeita não entra na métrica
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                metricasPagamento.registrarTransicao(statusAnterior, pagamentoStatus);
+            }
+        });
+        return atualizado;
+    }
+
+    private Pagamento buscarPagamento(Long pagamentoId) {
+        return pagamentoRepository.findById(pagamentoId)
                 .orElseThrow(() -> new RuntimeException("Pagamento não encontrado com o ID: " + pagamentoId));
+    }
+
+    /**
+     * Método para remover as chaves de idempotência mais antigas que o período de retenção.
+     */
+    @Scheduled(initialDelayString = "${pagamentos.idempotencia.intervalo-limpeza:PT1H}", fixedDelayString = "${pagamentos.idempotencia.intervalo-limpeza:PT1H}")
+    public void removerChavesIdempotenciaExpiradas() {
+        chaveIdempotenciaRepository.removerAnterioresA(LocalDateTime.now().minus(retencaoChavesIdempotencia));
+    }
+
+
+    /**
+     * Método para listar os pagamentos de forma paginada por keyset (cursor sobre o ID).
+     * @param cursor O cursor opaco devolvido na página anterior (nulo para a primeira página).
+     * @param tamanho O tamanho da página desejado (nulo para usar o padrão configurado).
+     * @return A página de pagamentos e o cursor para a próxima página.
+     */
+    @Transactional(readOnly = true)
+    public PaginaDto<Pagamento> listarPagamentos(String cursor, Integer tamanho) {
+        int tamanhoPagina = (tamanho == null || tamanho <= 0) ? tamanhoPaginaPadrao : Math.min(tamanho, tamanhoPaginaMaximo);
+        Long ultimoId = CursorUtils.decodificar(cursor);
+
+        /* Busca um registro a mais do que o tamanho da página apenas para saber se existe uma próxima página, sem precisar de um COUNT(*). */
+        List<Pagamento> pagamentos = pagamentoRepository.findByIdGreaterThanOrderByIdAsc(ultimoId, Limit.of(tamanhoPagina + 1));
+
+        String proximoCursor = null;
+        if (pagamentos.size() > tamanhoPagina) {
+            pagamentos = new ArrayList<>(pagamentos.subList(0, tamanhoPagina));
+            proximoCursor = CursorUtils.codificar(pagamentos.get(tamanhoPagina - 1).getId());
+        }
+        return new PaginaDto<>(pagamentos, tamanhoPagina, proximoCursor);
+    }
+
 
-        // Atualiza o status do pagamento com valor recebido como parâmetro e salva o pagamento atualizado no repositório.
-        pagamento.setPagamentoStatus(pagamentoStatus);
-        return pagamentoRepository.save(pagamento);
+    /**
+     * Método para buscar pagamentos com qualquer combinação de filtros, ordenados e paginados por keyset.
+     * @param filtro Os filtros opcionais (estudante, programa, status, tipo, intervalo de datas e de valores).
+     * @param ordenacao O campo de ordenação (o ID é usado como desempate).
+     * @param direcao A direção da ordenação.
+     * @param detalhes Os dados adicionais a incluir em cada pagamento (estudante completo e/ou referência do comprovante).
+     * @param cursor O cursor opaco devolvido na página anterior (nulo para a primeira página).
+     * @param tamanho O tamanho da página desejado (nulo para usar o padrão configurado).
+     * @return A página de pagamentos projetados e o cursor para a próxima página.
+     */
+    @Transactional(readOnly = true)
+    public PaginaDto<PagamentoBuscaDto> buscarPagamentos(FiltroBuscaPagamentoDto filtro, OrdenacaoPagamento ordenacao, Sort.Direction direcao,
+            Set<DetalhePagamento> detalhes, String cursor, Integer tamanho) {
+        int tamanhoPagina = (tamanho == null || tamanho <= 0) ? tamanhoPaginaPadrao : Math.min(tamanho, tamanhoPaginaMaximo);
+        boolean crescente = direcao.isAscending();
+
+        // O cursor guarda a ordenação em que foi gerado: um cursor de outra ordenação é rejeitado em vez de pular ou repetir registros
+        String ordem = ordenacao.name() + "_" + direcao.name();
+        Posicao posicao = CursorUtils.decodificarPosicao(cursor, ordem);
+        Specification<Pagamento> criterios = PagamentoSpecifications.comFiltro(filtro);
+        if (posicao != null) {
+            criterios = criterios.and(PagamentoSpecifications.aposPosicao(ordenacao, crescente, lerChave(ordenacao, posicao.chave()), posicao.ultimoId()));
+        }
+
+        Set<DetalhePagamento> incluir = detalhes == null || detalhes.isEmpty() ? EnumSet.noneOf(DetalhePagamento.class) : EnumSet.copyOf(detalhes);
+        List<PagamentoBuscaDto> pagamentos = pagamentoRepository.buscar(criterios, ordenacao, crescente, incluir, Limit.of(tamanhoPagina + 1));
+
+        String proximoCursor = null;
+        if (pagamentos.size() > tamanhoPagina) {
+            pagamentos = new ArrayList<>(pagamentos.subList(0, tamanhoPagina));
+            PagamentoBuscaDto ultimo = pagamentos.get(tamanhoPagina - 1);
+            proximoCursor = CursorUtils.codificar(new Posicao(ordem, escreverChave(ordenacao, ultimo), ultimo.getId()));
+        }
+        return new PaginaDto<>(pagamentos, tamanhoPagina, proximoCursor);
+    }
+
+    // Valor do campo de ordenação do último registro, como gravado no cursor (a data nula, permitida pela coluna, é gravada vazia)
+    private String escreverChave(OrdenacaoPagamento ordenacao, PagamentoBuscaDto pagamento) {
+        return switch (ordenacao) {
+            case ID -> "";
+            case DATA -> pagamento.getData() == null ? "" : pagamento.getData().toString();
+            case VALOR -> Double.toString(pagamento.getValor());
+        };
+    }
+
+    @SuppressWarnings("rawtypes")
+    private Comparable lerChave(OrdenacaoPagamento ordenacao, String chave) {
+        try {
+            return switch (ordenacao) {
+                case ID -> null;
+                case DATA -> chave.isEmpty() ? null : LocalDate.parse(chave);
+                case VALOR -> Double.valueOf(chave);
+            };
+        } catch (RuntimeException e) {
+            throw new RequisicaoInvalidaException("Cursor inválido: " + chave);
+        }
+    }
+
+
+    /**
+     * Método para exportar todos os pagamentos no formato NDJSON (um JSON por linha).
+     * @param outputStream O fluxo de saída da resposta HTTP.
+     * @throws IOException Se ocorrer algum erro ao escrever no fluxo.
+     */
+    @Transactional(readOnly = true)
+    public void exportarPagamentos(OutputStream outputStream) throws IOException {
+
+        /* O Stream precisa ser fechado ao final para liberar o ResultSet e a conexão. Cada linha é serializada e escrita assim que é lida do
+         * banco, e o contexto de persistência é limpo periodicamente para que as entidades já enviadas possam ser coletadas pelo GC. */
+        try (Stream<Pagamento> pagamentos = pagamentoRepository.streamAllByOrderByIdAsc()) {
+            Iterator<Pagamento> iterator = pagamentos.iterator();
+            int linhas = 0;
+            while (iterator.hasNext()) {
+                outputStream.write(objectMapper.writeValueAsBytes(iterator.next()));
+                outputStream.write('\n');
+
+                if (++linhas % LOTE_EXPORTACAO == 0) {
+                    outputStream.flush();
+                    entityManager.clear();
+                }
+            }
+            outputStream.flush();
+        }
     }
     
 }
@@ -0,0 +1,112 @@
+package com.api.sistema_pagamento_backend.services;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.api.sistema_pagamento_backend.entities.EventoPagamento;
+import com.api.sistema_pagamento_backend.eventos.BarramentoEventosPagamento;
+import com.api.sistema_pagamento_backend.repositories.EventoPagamentoRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/* Relay da tabela de saída (outbox): lê os eventos ainda não publicados, atribui a eles posições sequenciais e, depois do commit,
+ * entrega-os ao barramento em memória.
+ *
+ * A publicação é disparada logo após o commit de cada transação que grava eventos (EventoPagamentoService) e, como garantia, também
+ * periodicamente. Só uma publicação roda por vez nesta instância; um pedido que chega durante uma publicação faz com que ela seja repetida
+ * ao final. Os eventos pendentes são travados com SELECT ... FOR UPDATE e a posição tem índice único, então duas instâncias não publicam
+ * o mesmo evento nem repetem uma posição. */
+@Slf4j
+@Service
+public class RelayEventoPagamentoService {
+
+    @Autowired
+    private EventoPagamentoRepository eventoPagamentoRepository;
+
+    @Autowired
+    private BarramentoEventosPagamento barramentoEventosPagamento;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    @Qualifier("eventoExecutor")
+    private Executor eventoExecutor;
+
+    @Value("${pagamentos.eventos.tamanho-lote:500}")
+    private int tamanhoLote;
+
+    @Value("${pagamentos.eventos.retencao:P7D}")
+    private Duration retencao;
+
+    private final AtomicBoolean executando = new AtomicBoolean();
+    private final AtomicBoolean pendente = new AtomicBoolean();
+
+    /**
+     * Método para pedir a publicação dos eventos pendentes em segundo plano (chamado após o commit de quem grava eventos).
+     */
+    public void solicitarPublicacao() {
+        eventoExecutor.execute(this::publicarPendentes);
+    }
+
+    /**
+     * Método para publicar todos os eventos pendentes, em lotes.
+     */
+    @Scheduled(initialDelayString = "${pagamentos.eventos.intervalo-relay:PT1S}", fixedDelayString = "${pagamentos.eventos.intervalo-relay:PT1S}")
+    public void publicarPendentes() {
+        pendente.set(true);
+        while (pendente.get() && executando.compareAndSet(false, true)) {
+            try {
+                pendente.set(false);
+                List<EventoPagamento> publicados;
+                do {
+                    publicados = transactionTemplate.execute(status -> atribuirPosicoes());
+                    barramentoEventosPagamento.publicar(publicados);
+                } while (publicados.size() == tamanhoLote);
+            } catch (DataAccessException | TransactionException e) {
+                log.warn("Falha ao publicar os eventos de pagamento; nova tentativa no próximo ciclo", e);
+            } finally {
+                executando.set(false);
+            }
+        }
+    }
+
+    // Atribui as próximas posições a um lote de eventos pendentes (gravadas no commit da transação)
+    private List<EventoPagamento> atribuirPosicoes() {
+        List<EventoPagamento> pendentes = eventoPagamentoRepository.findByPosicaoIsNullOrderByIdAsc(Limit.of(tamanhoLote));
+        if (pendentes.isEmpty()) {
+            return pendentes;
+        }
+        long posicao = eventoPagamentoRepository.findUltimaPosicao();
+        for (EventoPagamento evento : pendentes) {
+            evento.setPosicao(++posicao);
+        }
+        return pendentes;
+    }
+
+    /**
+     * Método para remover os eventos publicados mais antigos que o período de retenção. O último evento publicado nunca é removido,
+     * para que a sequência de posições continue a partir dele.
+     */
+    @Scheduled(initialDelayString = "${pagamentos.eventos.intervalo-limpeza:PT1H}", fixedDelayString = "${pagamentos.eventos.intervalo-limpeza:PT1H}")
+    public void removerEventosAntigos() {
+        Integer removidos = transactionTemplate.execute(status -> eventoPagamentoRepository.removerPublicadosAntesDe(
+                LocalDateTime.now().minus(retencao), eventoPagamentoRepository.findUltimaPosicao()));
+        if (removidos != null && removidos > 0) {
+            log.info("Limpeza de eventos de pagamento: {} evento(s) removido(s)", removidos);
+        }
+    }
+}
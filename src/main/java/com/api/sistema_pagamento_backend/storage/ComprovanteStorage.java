@@ -0,0 +1,84 @@
+package com.api.sistema_pagamento_backend.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.springframework.core.io.Resource;
+
+/* Abstração do armazenamento dos comprovantes de pagamento. A referência devolvida por salvar() é o valor gravado em Pagamento.file e
+ * é a mesma usada depois em carregar(), o que permite trocar o backend (disco local, S3 compatível, etc.) sem alterar o serviço. */
+public interface ComprovanteStorage {
+
+    /**
+     * Método para armazenar o conteúdo de um comprovante.
+     * @param conteudo O fluxo com o conteúdo do arquivo (é consumido, mas não fechado).
+     * @return A referência (URI) do comprovante armazenado.
+     * @throws IOException Se ocorrer algum erro ao gravar o arquivo.
+     */
+    String salvar(InputStream conteudo) throws IOException;
+
+    /**
+     * Método para abrir um comprovante armazenado.
+     * @param referencia A referência devolvida por salvar().
+     * @return O comprovante como Resource, sem carregar o conteúdo na memória.
+     * @throws IOException Se o comprovante não existir ou não puder ser lido.
+     */
+    Resource carregar(String referencia) throws IOException;
+
+    /**
+     * Método para armazenar a miniatura (PNG) da primeira página de um comprovante, ao lado do próprio comprovante.
+     * @param referencia A referência do comprovante.
+     * @param conteudo A imagem da miniatura.
+     * @return A referência (URI) da miniatura, que pode ser aberta com carregar().
+     * @throws IOException Se ocorrer algum erro ao gravar o arquivo.
+     */
+    String salvarMiniatura(String referencia, byte[] conteudo) throws IOException;
+
+    /**
+     * Método para copiar comprovantes para um novo arquivo compactado do grupo informado (ex.: o mês dos pagamentos arquivados).
+     * O arquivo compactado é gravado de uma só vez e não é alterado depois; os comprovantes originais não são removidos aqui.
+     * Comprovantes que não existem mais no armazenamento são ignorados e ficam fora do resultado.
+     * @param grupo O grupo do arquivo compactado (ex.: 2023-05).
+     * @param referencias As referências dos comprovantes a arquivar.
+     * @return Para cada referência, a nova referência do comprovante dentro do arquivo compactado (aceita por carregar()).
+     * @throws IOException Se algum comprovante não puder ser lido ou o arquivo compactado não puder ser gravado.
+     */
+    Map<String, String> arquivar(String grupo, Collection<String> referencias) throws IOException;
+
+    /**
+     * Método para remover o arquivo compactado que contém um comprovante arquivado (usado quando o arquivamento é desfeito).
+     * @param referenciaArquivada Uma das referências devolvidas por arquivar().
+     * @throws IOException Se ocorrer algum erro ao remover o arquivo.
+     */
+    void descartarArquivo(String referenciaArquivada) throws IOException;
+
+    /**
+     * Método para remover os arquivos temporários de uploads que não foram concluídos.
+     * @param anterioresA Apenas arquivos temporários modificados antes deste instante são removidos.
+     * @return A quantidade de arquivos removidos.
+     * @throws IOException Se ocorrer algum erro ao percorrer a área temporária.
+     */
+    int limparTemporarios(Instant anterioresA) throws IOException;
+
+    /**
+     * Método para listar as referências dos comprovantes armazenados (usado na limpeza de arquivos órfãos).
+     * @param anterioresA Apenas comprovantes modificados antes deste instante são listados.
+     * @return As referências encontradas; o Stream deve ser fechado por quem o consome.
+     * @throws IOException Se ocorrer algum erro ao percorrer o armazenamento.
+     */
+    Stream<String> listarReferencias(Instant anterioresA) throws IOException;
+
+    /**
+     * Método para remover um comprovante que não é referenciado por nenhum pagamento (junto com a sua miniatura, se houver).
+     * @param referencia A referência do comprovante.
+     * @param anterioresA O comprovante só é removido se ainda não tiver sido modificado (ou reutilizado) depois deste instante.
+     * @return true se o arquivo foi removido.
+     * @throws IOException Se ocorrer algum erro ao remover o arquivo.
+     */
+    boolean remover(String referencia, Instant anterioresA) throws IOException;
+
+}
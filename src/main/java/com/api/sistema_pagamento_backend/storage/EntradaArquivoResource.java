@@ -0,0 +1,82 @@
+package com.api.sistema_pagamento_backend.storage;
+
+import java.io.FileNotFoundException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.springframework.core.io.AbstractResource;
+
+/* Um comprovante guardado dentro de um arquivo compactado (ZIP) do arquivamento. Cada leitura abre o ZIP, descompacta apenas a entrada
+ * pedida e fecha o ZIP junto com o fluxo, sem manter descritores abertos entre as requisições. Os arquivos compactados são gravados de
+ * uma só vez e nunca alterados, então o tamanho e a data podem ser lidos a qualquer momento. */
+public class EntradaArquivoResource extends AbstractResource {
+
+    private final Path arquivo;
+    private final String entrada;
+
+    public EntradaArquivoResource(Path arquivo, String entrada) {
+        this.arquivo = arquivo;
+        this.entrada = entrada;
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        ZipFile zip = new ZipFile(arquivo.toFile());
+        try {
+            ZipEntry entry = buscarEntrada(zip);
+            return new FilterInputStream(zip.getInputStream(entry)) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        zip.close();
+                    }
+                }
+            };
+        } catch (IOException | RuntimeException e) {
+            zip.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean exists() {
+        return Files.isReadable(arquivo);
+    }
+
+    @Override
+    public long contentLength() throws IOException {
+        try (ZipFile zip = new ZipFile(arquivo.toFile())) {
+            return buscarEntrada(zip).getSize();
+        }
+    }
+
+    @Override
+    public long lastModified() throws IOException {
+        return Files.getLastModifiedTime(arquivo).toMillis();
+    }
+
+    @Override
+    public String getFilename() {
+        return entrada.substring(entrada.lastIndexOf('/') + 1);
+    }
+
+    @Override
+    public String getDescription() {
+        return "Comprovante arquivado [" + arquivo + "!/" + entrada + "]";
+    }
+
+    private ZipEntry buscarEntrada(ZipFile zip) throws FileNotFoundException {
+        ZipEntry entry = zip.getEntry(entrada);
+        if (entry == null) {
+            throw new FileNotFoundException("Comprovante não encontrado no arquivo: " + arquivo + "!/" + entrada);
+        }
+        return entry;
+    }
+}
@@ -0,0 +1,254 @@
+package com.api.sistema_pagamento_backend.storage;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+/* Armazenamento dos comprovantes em disco local, endereçado pelo conteúdo (SHA-256).
+ *
+ * O arquivo é copiado uma única vez para uma área temporária enquanto o hash é calculado (DigestOutputStream). Depois é movido de forma
+ * atômica para <diretorio>/ab/cd/<sha256>.pdf, onde "ab" e "cd" são os primeiros caracteres do hash. Essa divisão em dois níveis limita
+ * a quantidade de arquivos por diretório. Se um arquivo com o mesmo hash já existir (o estudante reenviou o mesmo comprovante), o
+ * temporário é descartado e o arquivo existente é reaproveitado.
+ *
+ * Os comprovantes de pagamentos arquivados ficam em arquivos ZIP por mês, em <diretorio>/arquivo/<aaaa-mm>/<uuid>.zip, referenciados
+ * como jar:<uri do zip>!/<nome do comprovante>. */
+@Component
+@ConditionalOnProperty(name = "comprovantes.storage.tipo", havingValue = "local", matchIfMissing = true)
+public class LocalComprovanteStorage implements ComprovanteStorage {
+
+    private static final String EXTENSAO = ".pdf";
+    private static final String EXTENSAO_MINIATURA = ".png";
+    private static final String PREFIXO_ARQUIVADO = "jar:";
+    private static final String SEPARADOR_ENTRADA = "!/";
+
+    private final Path diretorio;
+    private final Path diretorioTemporario;
+    private final Path diretorioArquivo;
+
+    public LocalComprovanteStorage(@Value("${comprovantes.storage.diretorio:${user.home}/documentos/sistema_pagamento}") String diretorio) {
+        this.diretorio = Paths.get(diretorio).toAbsolutePath();
+        this.diretorioTemporario = this.diretorio.resolve("tmp");
+        this.diretorioArquivo = this.diretorio.resolve("arquivo");
+    }
+
+    @Override
+    public String salvar(InputStream conteudo) throws IOException {
+        Files.createDirectories(diretorioTemporario);
+        Path temporario = Files.createTempFile(diretorioTemporario, "upload-", ".tmp");
+
+        try {
+            MessageDigest digest = novoDigest();
+            try (OutputStream out = new DigestOutputStream(Files.newOutputStream(temporario), digest)) {
+                conteudo.transferTo(out);
+            }
+
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Path destino = caminhoPorHash(hash);
+            if (Files.exists(destino)) {
+                // Reaproveita o arquivo existente e atualiza a data de modificação para que a limpeza de órfãos não o remova agora
+                Files.setLastModifiedTime(destino, FileTime.from(Instant.now()));
+            } else {
+                Files.createDirectories(destino.getParent());
+                try {
+                    Files.move(temporario, destino, StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException e) {
+                    // Outro upload com o mesmo conteúdo terminou primeiro; o arquivo existente é reaproveitado
+                }
+            }
+            return destino.toUri().toString();
+        } finally {
+            Files.deleteIfExists(temporario);
+        }
+    }
+
+    @Override
+    public Resource carregar(String referencia) throws IOException {
+        if (referencia.startsWith(PREFIXO_ARQUIVADO)) {
+            Path arquivo = arquivoCompactado(referencia);
+            if (!Files.isReadable(arquivo)) {
+                throw new FileNotFoundException("Arquivo do comprovante não encontrado: " + referencia);
+            }
+            return new EntradaArquivoResource(arquivo, referencia.substring(referencia.indexOf(SEPARADOR_ENTRADA) + SEPARADOR_ENTRADA.length()));
+        }
+        Path path = Path.of(URI.create(referencia));
+        if (!Files.isReadable(path)) {
+            throw new FileNotFoundException("Arquivo do comprovante não encontrado: " + referencia);
+        }
+        return new FileSystemResource(path);
+    }
+
+    @Override
+    public String salvarMiniatura(String referencia, byte[] conteudo) throws IOException {
+        Path comprovante = Path.of(URI.create(referencia));
+        if (!comprovante.startsWith(diretorio)) {
+            throw new IOException("Comprovante fora do diretório de armazenamento: " + referencia);
+        }
+        Path destino = caminhoMiniatura(comprovante);
+        Files.createDirectories(diretorioTemporario);
+        Path temporario = Files.createTempFile(diretorioTemporario, "miniatura-", ".tmp");
+        try {
+            Files.write(temporario, conteudo);
+            Files.move(temporario, destino, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            return destino.toUri().toString();
+        } finally {
+            Files.deleteIfExists(temporario);
+        }
+    }
+
+    @Override
+    public Map<String, String> arquivar(String grupo, Collection<String> referencias) throws IOException {
+        Path destino = diretorioArquivo.resolve(grupo).resolve(UUID.randomUUID() + ".zip");
+        Files.createDirectories(diretorioTemporario);
+        Path temporario = Files.createTempFile(diretorioTemporario, "arquivo-", ".tmp");
+
+        try {
+            // O ZIP é montado na área temporária e só aparece no destino completo (movimento atômico)
+            Map<String, String> arquivados = new LinkedHashMap<>();
+            Set<String> entradas = new HashSet<>();
+            try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(temporario))) {
+                zip.setLevel(Deflater.BEST_COMPRESSION);
+                for (String referencia : referencias) {
+                    if (arquivados.containsKey(referencia)) {
+                        continue;
+                    }
+                    Path origem = Path.of(URI.create(referencia));
+                    if (!Files.isReadable(origem)) {
+                        continue;
+                    }
+                    String nome = origem.getFileName().toString();
+                    String entrada = nome;
+                    for (int i = 1; !entradas.add(entrada); i++) {
+                        entrada = i + "-" + nome; // comprovantes antigos, fora do padrão por hash, podem repetir o nome
+                    }
+                    zip.putNextEntry(new ZipEntry(entrada));
+                    Files.copy(origem, zip);
+                    zip.closeEntry();
+                    arquivados.put(referencia, PREFIXO_ARQUIVADO + destino.toUri() + SEPARADOR_ENTRADA + entrada);
+                }
+            }
+            if (arquivados.isEmpty()) {
+                return arquivados;
+            }
+            Files.createDirectories(destino.getParent());
+            Files.move(temporario, destino, StandardCopyOption.ATOMIC_MOVE);
+            return arquivados;
+        } finally {
+            Files.deleteIfExists(temporario);
+        }
+    }
+
+    @Override
+    public void descartarArquivo(String referenciaArquivada) throws IOException {
+        Files.deleteIfExists(arquivoCompactado(referenciaArquivada));
+    }
+
+    @Override
+    public int limparTemporarios(Instant anterioresA) throws IOException {
+        if (!Files.isDirectory(diretorioTemporario)) {
+            return 0;
+        }
+        int removidos = 0;
+        try (Stream<Path> temporarios = Files.list(diretorioTemporario)) {
+            for (Path temporario : (Iterable<Path>) temporarios::iterator) {
+                if (modificadoAntes(temporario, anterioresA) && Files.deleteIfExists(temporario)) {
+                    removidos++;
+                }
+            }
+        }
+        return removidos;
+    }
+
+    @Override
+    public Stream<String> listarReferencias(Instant anterioresA) throws IOException {
+        if (!Files.isDirectory(diretorio)) {
+            return Stream.empty();
+        }
+        return Files.walk(diretorio)
+                .filter(path -> !path.startsWith(diretorioTemporario))
+                .filter(path -> path.getFileName().toString().endsWith(EXTENSAO))
+                .filter(Files::isRegularFile)
+                .filter(path -> modificadoAntes(path, anterioresA))
+                .map(path -> path.toUri().toString());
+    }
+
+    @Override
+    public boolean remover(String referencia, Instant anterioresA) throws IOException {
+        Path path = Path.of(URI.create(referencia));
+        if (!path.startsWith(diretorio) || !modificadoAntes(path, anterioresA)) {
+            return false;
+        }
+        Files.deleteIfExists(caminhoMiniatura(path));
+        return Files.deleteIfExists(path);
+    }
+
+    // Monta o caminho <diretorio>/ab/cd/<hash>.pdf a partir do hash do conteúdo
+    Path caminhoPorHash(String hash) {
+        return diretorio.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash + EXTENSAO);
+    }
+
+    // Extrai o caminho do ZIP de uma referência jar:<uri do zip>!/<entrada>, que precisa estar dentro da área de arquivo
+    private Path arquivoCompactado(String referencia) throws IOException {
+        int separador = referencia.indexOf(SEPARADOR_ENTRADA);
+        if (!referencia.startsWith(PREFIXO_ARQUIVADO) || separador < 0) {
+            throw new IOException("Referência de comprovante arquivado inválida: " + referencia);
+        }
+        Path arquivo = Path.of(URI.create(referencia.substring(PREFIXO_ARQUIVADO.length(), separador))).normalize();
+        if (!arquivo.startsWith(diretorioArquivo)) {
+            throw new IOException("Comprovante arquivado fora do diretório de arquivo: " + referencia);
+        }
+        return arquivo;
+    }
+
+    // A miniatura fica ao lado do comprovante: <hash>.pdf -> <hash>.png (comprovantes antigos, fora do padrão, ganham o sufixo .png)
+    private static Path caminhoMiniatura(Path comprovante) {
+        String nome = comprovante.getFileName().toString();
+        String base = nome.endsWith(EXTENSAO) ? nome.substring(0, nome.length() - EXTENSAO.length()) : nome;
+        return comprovante.resolveSibling(base + EXTENSAO_MINIATURA);
+    }
+
+    private static boolean modificadoAntes(Path path, Instant instante) {
+        try {
+            return Files.getLastModifiedTime(path).toInstant().isBefore(instante);
+        } catch (IOException e) {
+            return false; // o arquivo pode ter sido removido ou movido por outra operação
+        }
+    }
+
+    private static MessageDigest novoDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Algoritmo SHA-256 indisponível", e);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.api.sistema_pagamento_backend.storage;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import com.api.sistema_pagamento_backend.exceptions.ComprovanteInvalidoException;
+
+/* Fluxo que valida o comprovante enquanto ele é copiado, sem guardar o conteúdo na memória: os primeiros bytes precisam ser a assinatura
+ * de um PDF (%PDF-) e a quantidade total de bytes não pode passar do limite. A validação acontece na mesma leitura que grava o arquivo,
+ * então um upload inválido é interrompido no primeiro bloco (assinatura) ou assim que o limite é ultrapassado, e o temporário é descartado
+ * pelo ComprovanteStorage. */
+public class ValidacaoPdfInputStream extends FilterInputStream {
+
+    private static final byte[] ASSINATURA_PDF = "%PDF-".getBytes(StandardCharsets.US_ASCII);
+
+    private final long tamanhoMaximo;
+    private long lidos;
+
+    public ValidacaoPdfInputStream(InputStream in, long tamanhoMaximo) {
+        super(in);
+        this.tamanhoMaximo = tamanhoMaximo;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = in.read();
+        if (b < 0) {
+            verificarFim();
+        } else {
+            verificar(new byte[] { (byte) b }, 0, 1);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int n = in.read(b, off, len);
+        if (n < 0) {
+            verificarFim();
+        } else {
+            verificar(b, off, n);
+        }
+        return n;
+    }
+
+    // O salto passaria por cima da validação; o conteúdo é sempre lido por inteiro
+    @Override
+    public long skip(long n) throws IOException {
+        if (n <= 0) {
+            return 0;
+        }
+        byte[] descarte = new byte[(int) Math.min(n, 8192)];
+        return Math.max(read(descarte, 0, descarte.length), 0);
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    private void verificar(byte[] b, int off, int n) {
+        for (int i = 0; i < n && lidos + i < ASSINATURA_PDF.length; i++) {
+            if (b[off + i] != ASSINATURA_PDF[(int) lidos + i]) {
+                throw new ComprovanteInvalidoException("O comprovante deve ser um arquivo PDF");
+            }
+        }
+        lidos += n;
+        if (lidos > tamanhoMaximo) {
+            throw new ComprovanteInvalidoException("O comprovante excede o tamanho máximo de " + tamanhoMaximo + " bytes");
+        }
+    }
+
+    private void verificarFim() {
+        if (lidos < ASSINATURA_PDF.length) {
+            throw new ComprovanteInvalidoException("O comprovante deve ser um arquivo PDF");
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.api.sistema_pagamento_backend.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import com.api.sistema_pagamento_backend.exceptions.RequisicaoInvalidaException;
+
+/* Utilitário para codificar e decodificar o cursor da paginação por keyset. O cliente recebe apenas um token opaco (Base64 URL-safe) e
+ * o devolve na próxima requisição; internamente o token carrega o último ID lido, usado na cláusula "WHERE id > ?". Na busca ordenada
+ * por outro campo o token carrega também a ordenação e o valor desse campo no último registro (ver Posicao). */
+public final class CursorUtils {
+
+    private static final String PREFIXO = "id:";
+    private static final String PREFIXO_POSICAO = "pos:";
+    private static final String SEPARADOR = "|";
+
+    // Posição do último registro lido: a ordenação em que foi lido, o valor do campo de ordenação e o ID
+    public record Posicao(String ordenacao, String chave, Long ultimoId) {
+    }
+
+    private CursorUtils() {
+    }
+
+    /**
+     * Método para gerar o cursor a partir do último ID da página.
+     * @param ultimoId O ID do último registro retornado.
+     * @return O cursor opaco que representa a posição após esse ID.
+     */
+    public static String codificar(Long ultimoId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIXO + ultimoId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Método para recuperar o último ID lido a partir do cursor.
+     * @param cursor O cursor recebido do cliente (pode ser nulo ou vazio para a primeira página).
+     * @return O último ID lido, ou 0 quando o cursor não foi informado.
+     * @throws RequisicaoInvalidaException Se o cursor estiver malformado ou adulterado (400 Bad Request).
+     */
+    public static Long decodificar(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!valor.startsWith(PREFIXO)) {
+                throw new IllegalArgumentException(valor);
+            }
+            return Long.parseLong(valor.substring(PREFIXO.length()));
+        } catch (IllegalArgumentException e) {
+            throw new RequisicaoInvalidaException("Cursor inválido: " + cursor);
+        }
+    }
+
+    /**
+     * Método para gerar o cursor de uma busca ordenada a partir do último registro da página.
+     * @param posicao A ordenação, o valor do campo de ordenação e o ID do último registro retornado.
+     * @return O cursor opaco que representa a posição após esse registro.
+     */
+    public static String codificar(Posicao posicao) {
+        String valor = PREFIXO_POSICAO + posicao.ordenacao() + SEPARADOR + posicao.chave() + SEPARADOR + posicao.ultimoId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Método para recuperar a posição do último registro lido a partir do cursor de uma busca ordenada.
+     * @param cursor O cursor recebido do cliente (pode ser nulo ou vazio para a primeira página).
+     * @param ordenacao A ordenação da requisição atual; o cursor precisa ter sido gerado com a mesma ordenação.
+     * @return A posição do último registro lido, ou null quando o cursor não foi informado.
+     * @throws RequisicaoInvalidaException Se o cursor estiver malformado, adulterado ou tiver sido gerado com outra ordenação (400 Bad Request).
+     */
+    public static Posicao decodificarPosicao(String cursor, String ordenacao) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] partes = valor.startsWith(PREFIXO_POSICAO) ? valor.substring(PREFIXO_POSICAO.length()).split("\\" + SEPARADOR, -1) : new String[0];
+            if (partes.length != 3 || !partes[0].equals(ordenacao)) {
+                throw new IllegalArgumentException(valor);
+            }
+            return new Posicao(partes[0], partes[1], Long.parseLong(partes[2]));
+        } catch (IllegalArgumentException e) {
+            throw new RequisicaoInvalidaException("Cursor inválido: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+-- Esquema inicial, equivalente ao que o Hibernate gerava com spring.jpa.hibernate.ddl-auto=update.
+-- Bancos que já existiam antes do Flyway são marcados com esta versão (spring.flyway.baseline-on-migrate) e seguem a partir da V2.
+
+CREATE TABLE estudante (
+    id          BIGINT NOT NULL AUTO_INCREMENT,
+    codigo      VARCHAR(255),
+    foto        VARCHAR(255),
+    nome        VARCHAR(255),
+    programa_id VARCHAR(255),
+    sobrenome   VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_estudante_codigo UNIQUE (codigo)
+) ENGINE = InnoDB;
+
+CREATE TABLE pagamento (
+    id               BIGINT NOT NULL AUTO_INCREMENT,
+    data             DATE,
+    file             VARCHAR(255),
+    pagamento_status TINYINT,
+    tipo_pagamento   TINYINT,
+    valor            FLOAT(53) NOT NULL,
+    estudante_id     BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_pagamento_estudante FOREIGN KEY (estudante_id) REFERENCES estudante (id)
+) ENGINE = InnoDB;
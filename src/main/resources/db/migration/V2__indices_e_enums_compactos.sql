@@ -0,0 +1,45 @@
+-- 1. Enums armazenados como ENUM nativo do MySQL (1 byte por linha, como o ordinal, mas sem depender da ordem das constantes em Java).
+--    Remove antes as CHECK constraints que o Hibernate criava para as colunas ordinais (os nomes são gerados, por isso a busca dinâmica).
+SET @checks = (SELECT GROUP_CONCAT(CONCAT('DROP CHECK `', constraint_name, '`'))
+               FROM information_schema.table_constraints
+               WHERE table_schema = DATABASE() AND table_name = 'pagamento' AND constraint_type = 'CHECK');
+SET @sql = IF(@checks IS NULL, 'DO 0', CONCAT('ALTER TABLE pagamento ', @checks));
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+ALTER TABLE pagamento
+    ADD COLUMN pagamento_status_novo ENUM ('CRIADO', 'VALIDADO', 'RECUSADO'),
+    ADD COLUMN tipo_pagamento_novo ENUM ('DINHEIRO', 'CHEQUE', 'TRANSFERENCIA', 'DEPOSITO');
+
+UPDATE pagamento
+SET pagamento_status_novo = ELT(pagamento_status + 1, 'CRIADO', 'VALIDADO', 'RECUSADO'),
+    tipo_pagamento_novo   = ELT(tipo_pagamento + 1, 'DINHEIRO', 'CHEQUE', 'TRANSFERENCIA', 'DEPOSITO');
+
+ALTER TABLE pagamento
+    DROP COLUMN pagamento_status,
+    DROP COLUMN tipo_pagamento;
+
+ALTER TABLE pagamento
+    RENAME COLUMN pagamento_status_novo TO pagamento_status,
+    RENAME COLUMN tipo_pagamento_novo TO tipo_pagamento;
+
+-- 2. Tabela que emula a sequence "pagamento_seq" (ID pooled, allocationSize = 100), iniciada acima do maior ID existente.
+CREATE TABLE IF NOT EXISTS pagamento_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+
+DELETE FROM pagamento_seq;
+INSERT INTO pagamento_seq (next_val) SELECT COALESCE(MAX(id), 0) + 101 FROM pagamento;
+
+-- 3. Índices para as consultas que a aplicação executa.
+-- EstudanteRepository.findByProgramaId
+CREATE INDEX idx_estudante_programa_id ON estudante (programa_id);
+-- PagamentoRepository.findByEstudanteCodigo / findResumoByEstudanteCodigo (junção por estudante_id) e filtros por estudante + data
+CREATE INDEX idx_pagamento_estudante_data ON pagamento (estudante_id, data);
+-- PagamentoRepository.findByPagamentoStatus
+CREATE INDEX idx_pagamento_status ON pagamento (pagamento_status);
+-- PagamentoRepository.findByTipoPagamento
+CREATE INDEX idx_pagamento_tipo ON pagamento (tipo_pagamento);
+-- PagamentoRepository.findFilesIn (limpeza de comprovantes órfãos)
+CREATE INDEX idx_pagamento_file ON pagamento (file);
@@ -0,0 +1,19 @@
+-- Tabela de resumo dos pagamentos por (mês, programa, tipo, status), mantida de forma incremental pela aplicação.
+CREATE TABLE resumo_pagamento (
+    ano_mes          INT          NOT NULL,
+    programa_id      VARCHAR(255) NOT NULL,
+    tipo_pagamento   ENUM ('DINHEIRO', 'CHEQUE', 'TRANSFERENCIA', 'DEPOSITO') NOT NULL,
+    pagamento_status ENUM ('CRIADO', 'VALIDADO', 'RECUSADO') NOT NULL,
+    quantidade       BIGINT       NOT NULL,
+    total            DOUBLE       NOT NULL,
+    PRIMARY KEY (ano_mes, programa_id, tipo_pagamento, pagamento_status)
+) ENGINE = InnoDB;
+
+-- Carga inicial a partir dos pagamentos existentes
+INSERT INTO resumo_pagamento (ano_mes, programa_id, tipo_pagamento, pagamento_status, quantidade, total)
+SELECT COALESCE(YEAR(p.data) * 100 + MONTH(p.data), 0), COALESCE(e.programa_id, ''), p.tipo_pagamento, p.pagamento_status, COUNT(*), SUM(p.valor)
+FROM pagamento p
+         LEFT JOIN estudante e ON e.id = p.estudante_id
+WHERE p.tipo_pagamento IS NOT NULL
+  AND p.pagamento_status IS NOT NULL
+GROUP BY 1, 2, 3, 4;
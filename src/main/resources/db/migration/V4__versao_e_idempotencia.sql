@@ -0,0 +1,14 @@
+-- Controle de concorrência otimista: versão incrementada a cada mudança do pagamento
+ALTER TABLE pagamento
+    ADD COLUMN versao BIGINT NOT NULL DEFAULT 0;
+
+-- Chaves de idempotência das mudanças de status (cabeçalho Idempotency-Key), removidas após o período de retenção
+CREATE TABLE chave_idempotencia (
+    chave            VARCHAR(255) NOT NULL,
+    pagamento_id     BIGINT       NOT NULL,
+    pagamento_status ENUM ('CRIADO', 'VALIDADO', 'RECUSADO') NOT NULL,
+    criado_em        DATETIME(6)  NOT NULL,
+    PRIMARY KEY (chave)
+) ENGINE = InnoDB;
+
+CREATE INDEX idx_chave_idempotencia_criado_em ON chave_idempotencia (criado_em);
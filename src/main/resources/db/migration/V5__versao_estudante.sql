@@ -0,0 +1,3 @@
+-- Versão do estudante, incrementada a cada alteração; usada no controle de concorrência otimista e nos ETags das respostas
+ALTER TABLE estudante
+    ADD COLUMN versao BIGINT NOT NULL DEFAULT 0;
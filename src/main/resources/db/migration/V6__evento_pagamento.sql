@@ -0,0 +1,16 @@
+-- Tabela de saída (outbox) dos eventos de pagamento. A posição é atribuída pelo relay na publicação e é o offset lido pelos consumidores.
+CREATE TABLE evento_pagamento (
+    id               BIGINT      NOT NULL AUTO_INCREMENT,
+    posicao          BIGINT,
+    pagamento_id     BIGINT      NOT NULL,
+    tipo_evento      ENUM ('CRIADO', 'STATUS_ALTERADO') NOT NULL,
+    status_anterior  ENUM ('CRIADO', 'VALIDADO', 'RECUSADO'),
+    pagamento_status ENUM ('CRIADO', 'VALIDADO', 'RECUSADO'),
+    tipo_pagamento   ENUM ('DINHEIRO', 'CHEQUE', 'TRANSFERENCIA', 'DEPOSITO'),
+    valor            DOUBLE      NOT NULL,
+    data             DATE,
+    codigo_estudante VARCHAR(255),
+    criado_em        DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_evento_pagamento_posicao UNIQUE (posicao)
+) ENGINE = InnoDB;
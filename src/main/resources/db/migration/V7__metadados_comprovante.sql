@@ -0,0 +1,12 @@
+-- Metadados extraídos dos comprovantes em segundo plano. A chave é a referência gravada em pagamento.file: pagamentos que
+-- compartilham o mesmo arquivo (mesmo conteúdo) compartilham também os metadados, extraídos uma única vez
+CREATE TABLE metadados_comprovante (
+    referencia    VARCHAR(255) NOT NULL,
+    sha256        CHAR(64),
+    tamanho       BIGINT,
+    paginas       INT,
+    miniatura     VARCHAR(255),
+    erro          VARCHAR(255),
+    processado_em DATETIME(6)  NOT NULL,
+    PRIMARY KEY (referencia)
+) ENGINE = InnoDB;
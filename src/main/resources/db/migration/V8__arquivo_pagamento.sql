@@ -0,0 +1,31 @@
+-- Arquivo dos pagamentos antigos, movidos da tabela pagamento pela rotina de arquivamento (ArquivamentoPagamentoService).
+-- A tabela é particionada por ano da data do pagamento; a rotina cria a partição de cada novo ano a partir de p_futuro.
+-- No MySQL todas as chaves únicas de uma tabela particionada precisam conter a coluna de particionamento, por isso a chave é (id, data),
+-- e tabelas particionadas não aceitam chave estrangeira (estudante_id não tem FK).
+CREATE TABLE pagamento_arquivado (
+    id               BIGINT      NOT NULL,
+    data             DATE        NOT NULL,
+    file             VARCHAR(255),
+    pagamento_status ENUM ('CRIADO', 'VALIDADO', 'RECUSADO'),
+    tipo_pagamento   ENUM ('DINHEIRO', 'CHEQUE', 'TRANSFERENCIA', 'DEPOSITO'),
+    valor            FLOAT(53)   NOT NULL,
+    versao           BIGINT      NOT NULL,
+    estudante_id     BIGINT,
+    arquivado_em     DATETIME(6) NOT NULL,
+    PRIMARY KEY (id, data)
+) ENGINE = InnoDB
+PARTITION BY RANGE COLUMNS (data) (
+    PARTITION p_antigos VALUES LESS THAN ('2020-01-01'),
+    PARTITION p2020 VALUES LESS THAN ('2021-01-01'),
+    PARTITION p2021 VALUES LESS THAN ('2022-01-01'),
+    PARTITION p2022 VALUES LESS THAN ('2023-01-01'),
+    PARTITION p2023 VALUES LESS THAN ('2024-01-01'),
+    PARTITION p2024 VALUES LESS THAN ('2025-01-01'),
+    PARTITION p2025 VALUES LESS THAN ('2026-01-01'),
+    PARTITION p_futuro VALUES LESS THAN (MAXVALUE)
+);
+
+CREATE INDEX idx_pagamento_arquivado_estudante_data ON pagamento_arquivado (estudante_id, data);
+
+-- PagamentoRepository.findParaArquivamento (pagamentos anteriores à data de corte)
+CREATE INDEX idx_pagamento_data ON pagamento (data);
@@ -0,0 +1,9 @@
+-- O ID de pagamento passa a ter um único gerador: a tabela "pagamento_seq" (otimizador pooled do Hibernate, criada na V2). Com o
+-- AUTO_INCREMENT mantido, um INSERT sem ID (feito por JDBC) recebia um ID do AUTO_INCREMENT que podia cair no bloco que o Hibernate já
+-- reservou em memória, e o próximo upload falhava com chave duplicada. A V2 não é alterada porque já foi aplicada nos bancos existentes.
+ALTER TABLE pagamento
+    MODIFY COLUMN id BIGINT NOT NULL;
+
+-- Garante que o próximo bloco do Hibernate começa acima de qualquer ID gravado pelo AUTO_INCREMENT até aqui
+UPDATE pagamento_seq
+SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 101 FROM pagamento));
@@ -0,0 +1,276 @@
+package com.api.sistema_pagamento_backend.carga;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/* Driver de carga em Java para medir a aplicação sob carga (ex.: comparar virtual threads com threads de plataforma).
+ *
+ * Não é um teste JUnit (não roda no "mvn test"). Com a aplicação no ar, de preferência com a base do perfil "gerador"
+ * (APP_PROFILE=dev,gerador), rode
+ *
+ *   mvn -Pcarga test-compile exec:java
+ *
+ * Sem carga.endpoints é executado o cenário completo, que chama todos os endpoints do PagamentoController com pesos que imitam o uso
+ * real (muitas leituras, poucas escritas). Os IDs de pagamentos e os códigos de estudantes usados nas requisições são amostrados da
+ * própria aplicação antes do aquecimento. Com -Dcarga.endpoints=/pagamentos,/pagamentoArquivo/1 apenas os caminhos GET informados são
+ * chamados, em rodízio.
+ *
+ * Propriedades: carga.url (padrão http://localhost:8080), carga.endpoints (caminhos GET separados por vírgula), carga.concorrencia
+ * (clientes simultâneos, padrão 200), carga.aquecimento e carga.duracao (ISO-8601, padrão PT10S e PT30S), carga.amostra (quantidade de
+ * pagamentos amostrados, padrão 500) e carga.formato-data (formato do parâmetro data do upload, padrão dd/MM/yyyy como no perfil dev).
+ * Ao final é impressa a vazão (req/s) e os percentis de latência p50/p95/p99 de cada endpoint. */
+public class TesteCarga {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    public static void main(String[] args) throws Exception {
+        String url = System.getProperty("carga.url", "http://localhost:8080");
+        String endpoints = System.getProperty("carga.endpoints");
+        int concorrencia = Integer.getInteger("carga.concorrencia", 200);
+        Duration aquecimento = Duration.parse(System.getProperty("carga.aquecimento", "PT10S"));
+        Duration duracao = Duration.parse(System.getProperty("carga.duracao", "PT30S"));
+
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        List<Operacao> operacoes = endpoints != null ? operacoesGet(url, endpoints.split(",")) : cenarioCompleto(client, url);
+
+        System.out.printf("Aquecimento de %s com %d clientes...%n", aquecimento, concorrencia);
+        executar(client, operacoes, concorrencia, aquecimento);
+
+        System.out.printf("Medição de %s com %d clientes...%n", duracao, concorrencia);
+        Map<String, Resultado> resultados = executar(client, operacoes, concorrencia, duracao);
+
+        System.out.printf("%-40s %10s %8s %10s %10s %10s %10s%n", "endpoint", "requisicoes", "erros", "req/s", "p50(ms)", "p95(ms)", "p99(ms)");
+        resultados.forEach((endpoint, resultado) -> resultado.imprimir(endpoint, duracao));
+    }
+
+    /* Uma operação do cenário: o nome usado no relatório, o peso no sorteio (com peso 0 a operação é chamada em rodízio), a fábrica de
+     * requisições, os status de erro que fazem parte do comportamento esperado (ex.: 409 numa transição de status já feita) e se
+     * apenas os cabeçalhos da resposta devem ser lidos (streams SSE que não terminam). */
+    record Operacao(String nome, int peso, Function<ThreadLocalRandom, HttpRequest> requisicao, Set<Integer> statusEsperados,
+            boolean somenteCabecalhos) {
+
+        static Operacao get(String nome, int peso, Function<ThreadLocalRandom, String> caminho, String url, Integer... statusEsperados) {
+            return new Operacao(nome, peso, random -> requisicao(url + caminho.apply(random)).GET().build(), Set.of(statusEsperados), false);
+        }
+
+        boolean sucesso(int status) {
+            return status < 400 || statusEsperados.contains(status);
+        }
+    }
+
+    static List<Operacao> operacoesGet(String url, String[] endpoints) {
+        List<Operacao> operacoes = new ArrayList<>();
+        for (String endpoint : endpoints) {
+            operacoes.add(Operacao.get(endpoint, 0, random -> endpoint, url));
+        }
+        return operacoes;
+    }
+
+    // Cenário completo: todos os endpoints do PagamentoController, com IDs e códigos de estudantes amostrados da aplicação
+    static List<Operacao> cenarioCompleto(HttpClient client, String url) throws Exception {
+        int amostra = Integer.getInteger("carga.amostra", 500);
+        DateTimeFormatter formatoData = DateTimeFormatter.ofPattern(System.getProperty("carga.formato-data", "dd/MM/yyyy"));
+
+        JsonNode pagina = MAPPER.readTree(client.send(requisicao(url + "/pagamentos?tamanho=" + amostra).GET().build(),
+                HttpResponse.BodyHandlers.ofInputStream()).body());
+        List<Long> ids = new ArrayList<>();
+        pagina.path("conteudo").forEach(pagamento -> ids.add(pagamento.path("id").asLong()));
+        JsonNode estudantes = MAPPER.readTree(client.send(requisicao(url + "/estudantesPorPrograma?programaId=LTA1").GET().build(),
+                HttpResponse.BodyHandlers.ofInputStream()).body());
+        List<String> codigos = new ArrayList<>();
+        estudantes.forEach(estudante -> codigos.add(estudante.path("codigo").asText()));
+        if (ids.isEmpty() || codigos.isEmpty()) {
+            throw new IllegalStateException("A aplicação não tem pagamentos ou estudantes do programa LTA1; suba-a com o perfil dev ou gerador");
+        }
+        System.out.printf("Amostra: %d pagamentos e %d estudantes%n", ids.size(), codigos.size());
+
+        Function<ThreadLocalRandom, Long> id = random -> ids.get(random.nextInt(ids.size()));
+        Function<ThreadLocalRandom, String> codigo = random -> codigos.get(random.nextInt(codigos.size()));
+        byte[] pdf = comprovanteExemplo();
+
+        List<Operacao> operacoes = new ArrayList<>();
+        operacoes.add(Operacao.get("GET /pagamentos", 10, random -> "/pagamentos", url));
+        operacoes.add(Operacao.get("GET /pagamentos/{id}", 20, random -> "/pagamentos/" + id.apply(random), url, 404));
+        operacoes.add(Operacao.get("GET /pagamentos/busca", 10,
+                random -> "/pagamentos/busca?programaId=LTA1&pagamentoStatus=CRIADO&ordenarPor=DATA&direcao=DESC&incluir=ESTUDANTE", url));
+        operacoes.add(Operacao.get("GET /pagamentos/agregacao", 5,
+                random -> "/pagamentos/agregacao?agruparPor=PROGRAMA&agruparPor=STATUS", url));
+        operacoes.add(Operacao.get("GET /pagamentos/stream", 1, random -> "/pagamentos/stream", url));
+        operacoes.add(Operacao.get("GET /pagamentos/eventos", 3, random -> "/pagamentos/eventos?espera=0", url));
+        operacoes.add(new Operacao("GET /pagamentos/eventos/stream", 1,
+                random -> requisicao(url + "/pagamentos/eventos/stream").header("Accept", "text/event-stream").GET().build(), Set.of(), true));
+        operacoes.add(Operacao.get("GET /estudantes", 2, random -> "/estudantes", url));
+        operacoes.add(Operacao.get("GET /estudantes/{codigo}", 10, random -> "/estudantes/" + codigo.apply(random), url));
+        operacoes.add(Operacao.get("GET /estudantesPorPrograma", 3, random -> "/estudantesPorPrograma?programaId=LTA1", url));
+        operacoes.add(Operacao.get("GET /estudantes/{codigo}/pagamentos", 10,
+                random -> "/estudantes/" + codigo.apply(random) + "/pagamentos", url));
+        operacoes.add(Operacao.get("GET /pagamento/porStatus", 1, random -> "/pagamento/porStatus?pagamentoStatus=RECUSADO", url));
+        operacoes.add(Operacao.get("GET /pagamento/porTipo", 1, random -> "/pagamento/porTipo?tipoPagamento=CHEQUE", url));
+        operacoes.add(Operacao.get("GET /pagamentoArquivo/{id}", 8, random -> "/pagamentoArquivo/" + id.apply(random), url, 404));
+        operacoes.add(Operacao.get("GET /pagamentoArquivo/{id}/metadados", 3,
+                random -> "/pagamentoArquivo/" + id.apply(random) + "/metadados", url, 404));
+        operacoes.add(Operacao.get("GET /pagamentoArquivo/{id}/miniatura", 3,
+                random -> "/pagamentoArquivo/" + id.apply(random) + "/miniatura", url, 404));
+
+        operacoes.add(new Operacao("POST /pagamento", 3, random -> {
+            String boundary = UUID.randomUUID().toString();
+            byte[] corpo = multipart(boundary, pdf, Map.of(
+                    "valor", String.valueOf(100 + random.nextInt(5000)),
+                    "tipoPagamento", random.nextBoolean() ? "TRANSFERENCIA" : "DEPOSITO",
+                    "data", LocalDate.now().format(formatoData),
+                    "codigoEstudante", codigo.apply(random)));
+            return requisicao(url + "/pagamento").header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(corpo)).build();
+        }, Set.of(), false));
+        operacoes.add(new Operacao("POST /pagamentos/importacao", 1, random -> {
+            StringBuilder csv = new StringBuilder("valor,tipoPagamento,data,codigoEstudante\n");
+            for (int i = 0; i < 50; i++) {
+                csv.append(100 + random.nextInt(5000)).append(",DINHEIRO,").append(LocalDate.now()).append(',').append(codigo.apply(random))
+                        .append('\n');
+            }
+            return requisicao(url + "/pagamentos/importacao").header("Content-Type", "text/csv")
+                    .POST(HttpRequest.BodyPublishers.ofString(csv.toString())).build();
+        }, Set.of(), false));
+        // As mudanças de status usam pagamentos amostrados, que em geral já saíram de CRIADO: o 409 faz parte do comportamento esperado
+        operacoes.add(new Operacao("PUT /pagamento/{id}/atualizarPagamento", 2,
+                random -> requisicao(url + "/pagamento/" + id.apply(random) + "/atualizarPagamento?pagamentoStatus=VALIDADO")
+                        .PUT(HttpRequest.BodyPublishers.noBody()).build(), Set.of(404, 409), false));
+        operacoes.add(new Operacao("POST /pagamentos/atualizarStatus", 1, random -> {
+            String corpo = "{\"novoStatus\":\"VALIDADO\",\"ids\":[" + id.apply(random) + "," + id.apply(random) + "," + id.apply(random) + "]}";
+            return requisicao(url + "/pagamentos/atualizarStatus").header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(corpo)).build();
+        }, Set.of(), false));
+        return operacoes;
+    }
+
+    // Cada cliente (virtual thread) envia requisições em sequência até o fim da duração, sorteando a operação pelo peso (ou em rodízio)
+    static Map<String, Resultado> executar(HttpClient client, List<Operacao> operacoes, int concorrencia, Duration duracao)
+            throws InterruptedException {
+        Map<String, Resultado> resultados = new LinkedHashMap<>();
+        operacoes.forEach(operacao -> resultados.put(operacao.nome(), new Resultado()));
+        int pesoTotal = operacoes.stream().mapToInt(Operacao::peso).sum();
+        long fim = System.nanoTime() + duracao.toNanos();
+
+        try (ExecutorService clientes = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concorrencia; i++) {
+                int inicio = i;
+                clientes.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    int indice = inicio;
+                    while (System.nanoTime() < fim) {
+                        Operacao operacao = pesoTotal == 0 ? operacoes.get(indice++ % operacoes.size()) : sortear(operacoes, random.nextInt(pesoTotal));
+                        long comeco = System.nanoTime();
+                        try {
+                            HttpResponse<InputStream> response = client.send(operacao.requisicao().apply(random),
+                                    HttpResponse.BodyHandlers.ofInputStream());
+                            try (InputStream corpo = response.body()) {
+                                if (!operacao.somenteCabecalhos()) {
+                                    corpo.transferTo(OutputStream.nullOutputStream());
+                                }
+                            }
+                            resultados.get(operacao.nome()).registrar(System.nanoTime() - comeco, operacao.sucesso(response.statusCode()));
+                        } catch (Exception e) {
+                            resultados.get(operacao.nome()).registrar(System.nanoTime() - comeco, false);
+                        }
+                    }
+                });
+            }
+        }
+        return resultados;
+    }
+
+    private static Operacao sortear(List<Operacao> operacoes, int sorteio) {
+        for (Operacao operacao : operacoes) {
+            sorteio -= operacao.peso();
+            if (sorteio < 0) {
+                return operacao;
+            }
+        }
+        return operacoes.get(operacoes.size() - 1);
+    }
+
+    private static HttpRequest.Builder requisicao(String uri) {
+        return HttpRequest.newBuilder(URI.create(uri)).timeout(Duration.ofSeconds(30));
+    }
+
+    // PDF de uma página em branco usado nos uploads
+    private static byte[] comprovanteExemplo() throws Exception {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        try (PDDocument documento = new PDDocument()) {
+            documento.addPage(new PDPage());
+            documento.save(saida);
+        }
+        return saida.toByteArray();
+    }
+
+    private static byte[] multipart(String boundary, byte[] pdf, Map<String, String> campos) {
+        ByteArrayOutputStream corpo = new ByteArrayOutputStream();
+        campos.forEach((nome, valor) -> corpo.writeBytes(("--" + boundary + "\r\nContent-Disposition: form-data; name=\"" + nome + "\"\r\n\r\n"
+                + valor + "\r\n").getBytes(StandardCharsets.UTF_8)));
+        corpo.writeBytes(("--" + boundary + "\r\nContent-Disposition: form-data; name=\"file\"; filename=\"comprovante.pdf\"\r\n"
+                + "Content-Type: application/pdf\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        corpo.writeBytes(pdf);
+        corpo.writeBytes(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        return corpo.toByteArray();
+    }
+
+    static class Resultado {
+
+        private final ConcurrentLinkedQueue<Long> latencias = new ConcurrentLinkedQueue<>();
+        private final AtomicLong erros = new AtomicLong();
+
+        void registrar(long nanos, boolean sucesso) {
+            latencias.add(nanos);
+            if (!sucesso) {
+                erros.incrementAndGet();
+            }
+        }
+
+        void imprimir(String endpoint, Duration duracao) {
+            List<Long> ordenadas = new ArrayList<>(latencias);
+            ordenadas.sort(null);
+            double vazao = ordenadas.size() / (duracao.toMillis() / 1000.0);
+            System.out.printf("%-40s %10d %8d %10.1f %10.2f %10.2f %10.2f%n", endpoint, ordenadas.size(), erros.get(), vazao,
+                    percentil(ordenadas, 0.50), percentil(ordenadas, 0.95), percentil(ordenadas, 0.99));
+        }
+
+        private static double percentil(List<Long> ordenadas, double p) {
+            if (ordenadas.isEmpty()) {
+                return 0;
+            }
+            int indice = (int) Math.ceil(p * ordenadas.size()) - 1;
+            return ordenadas.get(Math.max(indice, 0)) / 1_000_000.0;
+        }
+    }
+}
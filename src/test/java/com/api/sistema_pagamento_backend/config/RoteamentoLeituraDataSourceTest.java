@@ -0,0 +1,74 @@
+package com.api.sistema_pagamento_backend.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/* Verifica o roteamento entre primário e réplica com dois bancos H2 em memória. Cada banco tem uma tabela "origem" com o próprio nome,
+ * então a consulta mostra de qual DataSource veio a conexão. */
+class RoteamentoLeituraDataSourceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate escrita;
+    private TransactionTemplate leitura;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primario = banco("primario");
+        DataSource replica = banco("replica");
+        DataSource dataSource = DataSourceConfig.roteamento(primario, new RoteamentoLeituraDataSource(primario, List.of(replica)));
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        escrita = new TransactionTemplate(transactionManager);
+        leitura = new TransactionTemplate(transactionManager);
+        leitura.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RoteamentoLeituraDataSource.liberar();
+    }
+
+    @Test
+    void transacaoDeEscritaUsaPrimario() {
+        assertThat(escrita.execute(status -> origem())).isEqualTo("primario");
+    }
+
+    @Test
+    void transacaoSomenteLeituraUsaReplica() {
+        assertThat(leitura.execute(status -> origem())).isEqualTo("replica");
+    }
+
+    @Test
+    void leituraDepoisDeEscritaUsaPrimario() {
+        RoteamentoLeituraDataSource.usarPrimario();
+        assertThat(leitura.execute(status -> origem())).isEqualTo("primario");
+
+        RoteamentoLeituraDataSource.liberar();
+        assertThat(leitura.execute(status -> origem())).isEqualTo("replica");
+    }
+
+    private String origem() {
+        return jdbcTemplate.queryForObject("SELECT nome FROM origem", String.class);
+    }
+
+    private static DataSource banco(String nome) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + nome + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS origem (nome VARCHAR(20))");
+        jdbcTemplate.update("DELETE FROM origem");
+        jdbcTemplate.update("INSERT INTO origem (nome) VALUES (?)", nome);
+        return dataSource;
+    }
+}
@@ -0,0 +1,165 @@
+package com.api.sistema_pagamento_backend.repositories;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.api.sistema_pagamento_backend.cache.EstudanteCacheListener;
+import com.api.sistema_pagamento_backend.enums.PagamentoStatus;
+import com.api.sistema_pagamento_backend.enums.TipoPagamento;
+
+/* Roda EXPLAIN no MySQL local (o mesmo banco do perfil dev, com as migrações do Flyway aplicadas) para cada consulta de listagem e
+ * falha se alguma delas fizer varredura completa de tabela (type = ALL). Os dados inseridos têm a distribuição esperada em produção
+ * (poucos pagamentos CRIADO, tipos desbalanceados, muitos estudantes) e são removidos ao final.
+ *
+ * O SQL analisado é o que o Hibernate gera de fato (com os LEFT JOINs do @EntityGraph e o LIMIT da paginação por keyset): cada teste
+ * chama o método do repositório, o CapturaSql registra o SELECT emitido e o EXPLAIN roda sobre ele com os mesmos parâmetros. */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.api.sistema_pagamento_backend.repositories.ConsultasExplainTest$CapturaSql")
+class ConsultasExplainTest {
+
+    // Registra os SELECTs preparados pelo Hibernate, sem alterá-los
+    public static class CapturaSql implements StatementInspector {
+
+        private static final List<String> CONSULTAS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            if (sql.regionMatches(true, 0, "select", 0, 6)) {
+                CONSULTAS.add(sql);
+            }
+            return sql;
+        }
+    }
+
+    private static final String PREFIXO = "EXPLAIN-";
+    private static final int ESTUDANTES = 200;
+    private static final int PAGAMENTOS = 5000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PagamentoRepository pagamentoRepository;
+
+    @Autowired
+    private EstudanteRepository estudanteRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private SequenciaPagamentoRepository sequenciaPagamentoRepository;
+
+    @BeforeEach
+    void setUp() {
+        List<Object[]> estudantes = new ArrayList<>();
+        for (int i = 0; i < ESTUDANTES; i++) {
+            estudantes.add(new Object[] { PREFIXO + i, "Estudante", "Explain", PREFIXO + "P" + (i % 20) });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO estudante (codigo, nome, sobrenome, programa_id) VALUES (?, ?, ?, ?)", estudantes);
+
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM estudante WHERE codigo LIKE ?", Long.class, PREFIXO + "%");
+        // Os IDs são reservados na sequence do Hibernate, para não colidir com os de uma instância da aplicação rodando no mesmo banco
+        long proximoId = sequenciaPagamentoRepository.reservar(PAGAMENTOS);
+        List<Object[]> pagamentos = new ArrayList<>();
+        for (int i = 0; i < PAGAMENTOS; i++) {
+            pagamentos.add(new Object[] {
+                    proximoId++,
+                    Date.valueOf(LocalDate.now().minusDays(i % 365)),
+                    1000 + i,
+                    i % 20 == 0 ? "CRIADO" : "VALIDADO",
+                    i % 25 == 0 ? "CHEQUE" : "TRANSFERENCIA",
+                    PREFIXO + i + ".pdf",
+                    ids.get(i % ids.size()) });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO pagamento (id, data, valor, pagamento_status, tipo_pagamento, file, estudante_id) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                pagamentos);
+        jdbcTemplate.execute("ANALYZE TABLE estudante, pagamento");
+        CapturaSql.CONSULTAS.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE p FROM pagamento p JOIN estudante e ON e.id = p.estudante_id WHERE e.codigo LIKE ?", PREFIXO + "%");
+        jdbcTemplate.update("DELETE FROM estudante WHERE codigo LIKE ?", PREFIXO + "%");
+    }
+
+    @Test
+    void findByEstudanteCodigoUsaIndice() {
+        pagamentoRepository.findByEstudanteCodigo(PREFIXO + "7");
+        assertSemVarreduraCompleta(PREFIXO + "7");
+    }
+
+    @Test
+    void findResumoByEstudanteCodigoUsaIndice() {
+        pagamentoRepository.findResumoByEstudanteCodigo(PREFIXO + "7");
+        assertSemVarreduraCompleta(PREFIXO + "7");
+    }
+
+    @Test
+    void findByPagamentoStatusUsaIndice() {
+        pagamentoRepository.findByPagamentoStatus(PagamentoStatus.CRIADO);
+        assertSemVarreduraCompleta(PagamentoStatus.CRIADO.name());
+    }
+
+    @Test
+    void findByTipoPagamentoUsaIndice() {
+        pagamentoRepository.findByTipoPagamento(TipoPagamento.CHEQUE);
+        assertSemVarreduraCompleta(TipoPagamento.CHEQUE.name());
+    }
+
+    @Test
+    void paginaPorKeysetUsaChavePrimaria() {
+        pagamentoRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(51));
+        assertSemVarreduraCompleta(0L, 51);
+    }
+
+    @Test
+    void findFilesInUsaIndice() {
+        pagamentoRepository.findFilesIn(List.of(PREFIXO + "1.pdf", PREFIXO + "2.pdf"));
+        assertSemVarreduraCompleta(PREFIXO + "1.pdf", PREFIXO + "2.pdf");
+    }
+
+    @Test
+    void findByProgramaIdUsaIndice() {
+        // A busca por programa é servida pelo cache; sem limpá-lo, o SELECT poderia não ser emitido
+        cacheManager.getCache(EstudanteCacheListener.ESTUDANTES_POR_PROGRAMA).clear();
+        estudanteRepository.findByProgramaId(PREFIXO + "P3");
+        assertSemVarreduraCompleta(PREFIXO + "P3");
+    }
+
+    /**
+     * Método para rodar EXPLAIN sobre o último SELECT gerado pelo Hibernate e verificar que nenhuma tabela é varrida por completo.
+     * @param parametros Os valores dos parâmetros da consulta, na ordem em que aparecem no SQL gerado.
+     */
+    private void assertSemVarreduraCompleta(Object... parametros) {
+        assertThat(CapturaSql.CONSULTAS).as("Nenhum SELECT foi emitido pelo Hibernate").isNotEmpty();
+        String sql = CapturaSql.CONSULTAS.get(CapturaSql.CONSULTAS.size() - 1);
+        assertThat(sql.chars().filter(c -> c == '?').count()).as("Parâmetros de %s", sql).isEqualTo(parametros.length);
+
+        List<Map<String, Object>> plano = jdbcTemplate.queryForList("EXPLAIN " + sql, parametros);
+        assertThat(plano).isNotEmpty();
+        for (Map<String, Object> linha : plano) {
+            assertThat(linha.get("type"))
+                    .as("Varredura completa na tabela %s: %s", linha.get("table"), sql)
+                    .isNotEqualTo("ALL");
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.api.sistema_pagamento_backend.repositories;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executor;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+
+import com.api.sistema_pagamento_backend.entities.EventoPagamento;
+import com.api.sistema_pagamento_backend.enums.PagamentoStatus;
+import com.api.sistema_pagamento_backend.enums.TipoEventoPagamento;
+import com.api.sistema_pagamento_backend.enums.TipoPagamento;
+import com.api.sistema_pagamento_backend.eventos.BarramentoEventosPagamento;
+import com.api.sistema_pagamento_backend.services.RelayEventoPagamentoService;
+
+/* Garante que as posições (offsets) do feed de eventos nunca voltam: mesmo depois que a limpeza remove todos os eventos antigos, o
+ * próximo evento publicado continua a sequência. */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "pagamentos.eventos.retencao=PT1H"
+})
+@Import({ RelayEventoPagamentoService.class, BarramentoEventosPagamento.class, EventoPagamentoRepositoryTest.Configuracao.class })
+class EventoPagamentoRepositoryTest {
+
+    @TestConfiguration
+    static class Configuracao {
+
+        @Bean
+        Executor eventoExecutor() {
+            return Runnable::run;
+        }
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EventoPagamentoRepository eventoPagamentoRepository;
+
+    @Autowired
+    private RelayEventoPagamentoService relayEventoPagamentoService;
+
+    @Test
+    void posicaoNaoRecomecaDepoisDaLimpeza() {
+        LocalDateTime antigo = LocalDateTime.now().minusDays(2);
+        gravarEvento(1L, antigo);
+        gravarEvento(2L, antigo);
+        relayEventoPagamentoService.publicarPendentes();
+        assertThat(eventoPagamentoRepository.findUltimaPosicao()).isEqualTo(2);
+
+        // Todos os eventos estão fora da retenção; apenas o último publicado é mantido
+        relayEventoPagamentoService.removerEventosAntigos();
+        entityManager.clear();
+        assertThat(eventoPagamentoRepository.findByPosicaoGreaterThanOrderByPosicaoAsc(0L, Limit.of(10)))
+                .extracting(EventoPagamento::getPosicao).containsExactly(2L);
+
+        gravarEvento(3L, LocalDateTime.now());
+        relayEventoPagamentoService.publicarPendentes();
+        entityManager.clear();
+        assertThat(eventoPagamentoRepository.findByPosicaoGreaterThanOrderByPosicaoAsc(2L, Limit.of(10)))
+                .extracting(EventoPagamento::getPagamentoId, EventoPagamento::getPosicao)
+                .containsExactly(tuple(3L, 3L));
+    }
+
+    private void gravarEvento(Long pagamentoId, LocalDateTime criadoEm) {
+        entityManager.persist(new EventoPagamento(null, null, pagamentoId, TipoEventoPagamento.CRIADO, null, PagamentoStatus.CRIADO,
+                TipoPagamento.DINHEIRO, 1000, LocalDate.now(), "COD0", criadoEm));
+        entityManager.flush();
+    }
+}
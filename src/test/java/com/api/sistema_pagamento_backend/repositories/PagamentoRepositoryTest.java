@@ -0,0 +1,221 @@
+package com.api.sistema_pagamento_backend.repositories;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.api.sistema_pagamento_backend.dtos.AgregacaoPagamentoDto;
+import com.api.sistema_pagamento_backend.dtos.FiltroAgregacaoDto;
+import com.api.sistema_pagamento_backend.dtos.PagamentoBuscaDto;
+import com.api.sistema_pagamento_backend.entities.Estudante;
+import com.api.sistema_pagamento_backend.entities.Pagamento;
+import com.api.sistema_pagamento_backend.entities.PagamentoArquivado;
+import com.api.sistema_pagamento_backend.enums.DetalhePagamento;
+import com.api.sistema_pagamento_backend.enums.DimensaoAgregacao;
+import com.api.sistema_pagamento_backend.enums.OrdenacaoPagamento;
+import com.api.sistema_pagamento_backend.enums.PagamentoStatus;
+import com.api.sistema_pagamento_backend.enums.TipoPagamento;
+
+/* Garante que as consultas de listagem de pagamentos executam um número constante de SQLs, independente da quantidade de estudantes
+ * (sem N+1). A contagem é feita pelas estatísticas do Hibernate. */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class PagamentoRepositoryTest {
+
+    private static final int ESTUDANTES = 5;
+    private static final int PAGAMENTOS_POR_ESTUDANTE = 4;
+    private static final long MAXIMO_CONSULTAS = 1;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PagamentoRepository pagamentoRepository;
+
+    @Autowired
+    private PagamentoArquivadoRepository pagamentoArquivadoRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        TipoPagamento[] tipos = TipoPagamento.values();
+        for (int i = 0; i < ESTUDANTES; i++) {
+            Estudante estudante = entityManager.persist(Estudante.builder()
+                    .nome("Estudante" + i)
+                    .sobrenome("Teste")
+                    .codigo("COD" + i)
+                    .programaId("LTA1")
+                    .build());
+
+            for (int j = 0; j < PAGAMENTOS_POR_ESTUDANTE; j++) {
+                entityManager.persist(Pagamento.builder()
+                        .valor(1000 + j)
+                        .tipoPagamento(tipos[j % tipos.length])
+                        .pagamentoStatus(PagamentoStatus.CRIADO)
+                        .data(LocalDate.now())
+                        .estudante(estudante)
+                        .build());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findAllNaoGeraNMaisUm() {
+        assertConsultasConstantes(() -> pagamentoRepository.findAll(), ESTUDANTES * PAGAMENTOS_POR_ESTUDANTE);
+    }
+
+    @Test
+    void findByEstudanteCodigoNaoGeraNMaisUm() {
+        assertConsultasConstantes(() -> pagamentoRepository.findByEstudanteCodigo("COD0"), PAGAMENTOS_POR_ESTUDANTE);
+    }
+
+    @Test
+    void findByPagamentoStatusNaoGeraNMaisUm() {
+        assertConsultasConstantes(() -> pagamentoRepository.findByPagamentoStatus(PagamentoStatus.CRIADO), ESTUDANTES * PAGAMENTOS_POR_ESTUDANTE);
+    }
+
+    @Test
+    void findByTipoPagamentoNaoGeraNMaisUm() {
+        assertConsultasConstantes(() -> pagamentoRepository.findByTipoPagamento(TipoPagamento.DINHEIRO), ESTUDANTES);
+    }
+
+    @Test
+    void paginaPorKeysetNaoGeraNMaisUm() {
+        assertConsultasConstantes(() -> pagamentoRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(10)), 10);
+    }
+
+    @Test
+    void resumoPorEstudanteNaoCarregaEstudante() {
+        assertThat(pagamentoRepository.findResumoByEstudanteCodigo("COD1")).hasSize(PAGAMENTOS_POR_ESTUDANTE);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(MAXIMO_CONSULTAS);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void buscaPorEspecificacaoPaginaPorValorSemCarregarEstudante() {
+        List<PagamentoBuscaDto> primeiraPagina = pagamentoRepository.buscar(PagamentoSpecifications.doEstudante("COD3"),
+                OrdenacaoPagamento.VALOR, false, EnumSet.noneOf(DetalhePagamento.class), Limit.of(2));
+        assertThat(primeiraPagina).extracting(PagamentoBuscaDto::getValor).containsExactly(1003.0, 1002.0);
+        assertThat(primeiraPagina).allSatisfy(pagamento -> assertThat(pagamento.getEstudante()).isNull());
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(MAXIMO_CONSULTAS);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+
+        PagamentoBuscaDto ultimo = primeiraPagina.get(1);
+        List<PagamentoBuscaDto> segundaPagina = pagamentoRepository.buscar(
+                PagamentoSpecifications.doEstudante("COD3").and(PagamentoSpecifications.aposPosicao(OrdenacaoPagamento.VALOR, false, ultimo.getValor(), ultimo.getId())),
+                OrdenacaoPagamento.VALOR, false, EnumSet.of(DetalhePagamento.ESTUDANTE), Limit.of(2));
+        assertThat(segundaPagina).extracting(PagamentoBuscaDto::getValor).containsExactly(1001.0, 1000.0);
+        assertThat(segundaPagina).allSatisfy(pagamento -> assertThat(pagamento.getEstudante().getCodigo()).isEqualTo("COD3"));
+    }
+
+    @Test
+    void paginacaoPorDataPercorrePagamentosSemData() {
+        Estudante estudante = entityManager.persist(Estudante.builder().nome("Sem").sobrenome("Data").codigo("SEMDATA").programaId("LTA1").build());
+        Long semData1 = entityManager.persist(Pagamento.builder().valor(10).tipoPagamento(TipoPagamento.DINHEIRO)
+                .pagamentoStatus(PagamentoStatus.CRIADO).estudante(estudante).build()).getId();
+        Long comData = entityManager.persist(Pagamento.builder().valor(20).tipoPagamento(TipoPagamento.DINHEIRO)
+                .pagamentoStatus(PagamentoStatus.CRIADO).data(LocalDate.now()).estudante(estudante).build()).getId();
+        Long semData2 = entityManager.persist(Pagamento.builder().valor(30).tipoPagamento(TipoPagamento.DINHEIRO)
+                .pagamentoStatus(PagamentoStatus.CRIADO).estudante(estudante).build()).getId();
+        entityManager.flush();
+        entityManager.clear();
+
+        // NULL é o menor valor: os pagamentos sem data vêm primeiro na ordem crescente e por último na decrescente
+        assertThat(percorrerPorData("SEMDATA", true)).containsExactly(semData1, semData2, comData);
+        assertThat(percorrerPorData("SEMDATA", false)).containsExactly(comData, semData2, semData1);
+    }
+
+    @Test
+    void atualizarStatusSeAtualAplicaApenasUmaVez() {
+        Pagamento pagamento = pagamentoRepository.findByEstudanteCodigo("COD2").get(0);
+        Long versao = pagamento.getVersao();
+
+        // A primeira validação muda o status; a segunda (mesmo status de origem e mesma versão) não encontra mais a linha
+        assertThat(pagamentoRepository.atualizarStatusSeAtual(pagamento.getId(), PagamentoStatus.CRIADO, PagamentoStatus.VALIDADO, versao)).isEqualTo(1);
+        assertThat(pagamentoRepository.atualizarStatusSeAtual(pagamento.getId(), PagamentoStatus.CRIADO, PagamentoStatus.RECUSADO, versao)).isZero();
+
+        Pagamento atualizado = pagamentoRepository.findById(pagamento.getId()).orElseThrow();
+        assertThat(atualizado.getPagamentoStatus()).isEqualTo(PagamentoStatus.VALIDADO);
+        assertThat(atualizado.getVersao()).isEqualTo(versao + 1);
+    }
+
+    @Test
+    void pagamentoArquivadoContinuaLegivelComAMesmaVersao() {
+        Pagamento pagamento = pagamentoRepository.findByEstudanteCodigo("COD4").get(0);
+        String versao = pagamentoRepository.findVersaoById(pagamento.getId()).orElseThrow();
+        assertThat(pagamentoRepository.findParaArquivamento(LocalDate.now().plusDays(1), Limit.of(100))).hasSize(ESTUDANTES * PAGAMENTOS_POR_ESTUDANTE);
+        assertThat(pagamentoRepository.findParaArquivamento(LocalDate.now(), Limit.of(100))).isEmpty();
+
+        // Mesma sequência da rotina de arquivamento: cópia para o arquivo e remoção da tabela principal
+        List<Pagamento> travados = pagamentoRepository.findByIdIn(List.of(pagamento.getId()));
+        entityManager.persist(PagamentoArquivado.de(travados.get(0), "jar:file:/arquivo/2020-01/teste.zip!/teste.pdf", LocalDateTime.now()));
+        entityManager.flush();
+        pagamentoRepository.deleteAllByIdInBatch(List.of(pagamento.getId()));
+        entityManager.clear();
+
+        assertThat(pagamentoRepository.findVersaoById(pagamento.getId())).isEmpty();
+        assertThat(pagamentoArquivadoRepository.findVersaoById(pagamento.getId())).contains(versao);
+        Pagamento arquivado = pagamentoArquivadoRepository.findById(pagamento.getId()).map(PagamentoArquivado::paraPagamento).orElseThrow();
+        assertThat(arquivado.getEstudante().getCodigo()).isEqualTo("COD4");
+        assertThat(arquivado.getFile()).startsWith("jar:");
+
+        // O GROUP BY continua contando o pagamento arquivado, como o resumo
+        FiltroAgregacaoDto filtro = new FiltroAgregacaoDto();
+        filtro.setCodigoEstudante("COD4");
+        assertThat(pagamentoRepository.agregar(EnumSet.of(DimensaoAgregacao.ESTUDANTE), filtro))
+                .singleElement().extracting(AgregacaoPagamentoDto::getQuantidade).isEqualTo((long) PAGAMENTOS_POR_ESTUDANTE);
+    }
+
+    // Executa a consulta, acessa o estudante de cada pagamento (como a serialização JSON faria) e verifica a quantidade de SQLs
+    // Percorre os pagamentos do estudante ordenados por data, uma página de um registro por vez, e devolve os IDs na ordem lida
+    private List<Long> percorrerPorData(String codigo, boolean crescente) {
+        List<Long> ids = new ArrayList<>();
+        PagamentoBuscaDto ultimo = null;
+        while (true) {
+            Specification<Pagamento> criterios = PagamentoSpecifications.doEstudante(codigo);
+            if (ultimo != null) {
+                criterios = criterios.and(PagamentoSpecifications.aposPosicao(OrdenacaoPagamento.DATA, crescente, ultimo.getData(), ultimo.getId()));
+            }
+            List<PagamentoBuscaDto> pagina = pagamentoRepository.buscar(criterios, OrdenacaoPagamento.DATA, crescente,
+                    EnumSet.noneOf(DetalhePagamento.class), Limit.of(1));
+            if (pagina.isEmpty()) {
+                return ids;
+            }
+            ultimo = pagina.get(0);
+            ids.add(ultimo.getId());
+        }
+    }
+
+    private void assertConsultasConstantes(Supplier<List<Pagamento>> consulta, int esperados) {
+        List<Pagamento> pagamentos = consulta.get();
+        pagamentos.forEach(pagamento -> pagamento.getEstudante().getNome());
+
+        assertThat(pagamentos).hasSize(esperados);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(MAXIMO_CONSULTAS);
+    }
+}
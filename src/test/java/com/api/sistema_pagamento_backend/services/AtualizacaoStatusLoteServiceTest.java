@@ -0,0 +1,155 @@
+package com.api.sistema_pagamento_backend.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.api.sistema_pagamento_backend.dtos.AtualizacaoStatusLoteDto;
+import com.api.sistema_pagamento_backend.dtos.AtualizacaoStatusLoteResultadoDto;
+import com.api.sistema_pagamento_backend.dtos.ResultadoAtualizacaoStatusDto;
+import com.api.sistema_pagamento_backend.enums.PagamentoStatus;
+import com.api.sistema_pagamento_backend.enums.ResultadoAtualizacaoStatus;
+import com.api.sistema_pagamento_backend.exceptions.RequisicaoInvalidaException;
+import com.api.sistema_pagamento_backend.repositories.SequenciaPagamentoRepository;
+
+/* Roda a atualização de status em lote no MySQL local (o mesmo banco do perfil dev, com as migrações do Flyway aplicadas), já que o
+ * serviço usa SELECT ... FOR UPDATE e os upserts do resumo, que são específicos do MySQL. Os pagamentos do teste pertencem a um programa
+ * próprio e têm uma data que não existe nos dados de desenvolvimento; tudo é removido ao final. O lote é de 2 pagamentos, para que os
+ * pedidos atravessem vários lotes. */
+@SpringBootTest(properties = "pagamentos.atualizacao-lote.tamanho-lote=2")
+class AtualizacaoStatusLoteServiceTest {
+
+    private static final String PREFIXO = "LOTE-";
+    private static final String PROGRAMA = PREFIXO + "P";
+    private static final LocalDate DATA = LocalDate.of(1990, 1, 15);
+    private static final long INEXISTENTE = Long.MAX_VALUE;
+
+    @Autowired
+    private AtualizacaoStatusLoteService atualizacaoStatusLoteService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SequenciaPagamentoRepository sequenciaPagamentoRepository;
+
+    private Long estudanteId;
+    private int sequencia;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO estudante (codigo, nome, sobrenome, programa_id) VALUES (?, ?, ?, ?)", PREFIXO + "0", "Estudante",
+                "Lote", PROGRAMA);
+        estudanteId = jdbcTemplate.queryForObject("SELECT id FROM estudante WHERE codigo = ?", Long.class, PREFIXO + "0");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE ev FROM evento_pagamento ev JOIN pagamento p ON p.id = ev.pagamento_id WHERE p.estudante_id = ?", estudanteId);
+        jdbcTemplate.update("DELETE FROM pagamento WHERE estudante_id = ?", estudanteId);
+        jdbcTemplate.update("DELETE FROM estudante WHERE id = ?", estudanteId);
+        jdbcTemplate.update("DELETE FROM resumo_pagamento WHERE programa_id = ?", PROGRAMA);
+    }
+
+    @Test
+    void atualizacaoPorIdsClassificaCadaPagamentoEAjustaOResumo() {
+        Long criado1 = inserir(PagamentoStatus.CRIADO);
+        Long criado2 = inserir(PagamentoStatus.CRIADO);
+        Long validado = inserir(PagamentoStatus.VALIDADO);
+        Long recusado = inserir(PagamentoStatus.RECUSADO);
+        carregarResumo();
+
+        AtualizacaoStatusLoteDto pedido = new AtualizacaoStatusLoteDto();
+        pedido.setNovoStatus(PagamentoStatus.VALIDADO);
+        pedido.setIds(List.of(criado1, criado2, validado, recusado, INEXISTENTE, criado1));
+        AtualizacaoStatusLoteResultadoDto resultado = atualizacaoStatusLoteService.atualizarStatus(pedido);
+
+        assertThat(resultado.getTotalPagamentos()).isEqualTo(5); // o ID repetido é processado uma vez
+        assertThat(resultado.getAtualizados()).isEqualTo(2);
+        assertThat(resultado.getResultados())
+                .extracting(ResultadoAtualizacaoStatusDto::getId, ResultadoAtualizacaoStatusDto::getResultado)
+                .containsExactly(
+                        tuple(criado1, ResultadoAtualizacaoStatus.ATUALIZADO),
+                        tuple(criado2, ResultadoAtualizacaoStatus.ATUALIZADO),
+                        tuple(validado, ResultadoAtualizacaoStatus.JA_NO_STATUS),
+                        tuple(recusado, ResultadoAtualizacaoStatus.TRANSICAO_INVALIDA),
+                        tuple(INEXISTENTE, ResultadoAtualizacaoStatus.NAO_ENCONTRADO));
+
+        assertThat(statusAtual(criado1)).isEqualTo("VALIDADO");
+        assertThat(statusAtual(recusado)).isEqualTo("RECUSADO");
+        assertThat(quantidadeNoResumo(PagamentoStatus.CRIADO)).isZero();
+        assertThat(quantidadeNoResumo(PagamentoStatus.VALIDADO)).isEqualTo(3);
+        assertThat(quantidadeNoResumo(PagamentoStatus.RECUSADO)).isEqualTo(1);
+    }
+
+    @Test
+    void atualizacaoPorFiltroPercorreTodosOsLotes() {
+        Long criado1 = inserir(PagamentoStatus.CRIADO);
+        Long criado2 = inserir(PagamentoStatus.CRIADO);
+        Long criado3 = inserir(PagamentoStatus.CRIADO);
+        Long validado = inserir(PagamentoStatus.VALIDADO);
+        carregarResumo();
+
+        AtualizacaoStatusLoteDto pedido = new AtualizacaoStatusLoteDto();
+        pedido.setNovoStatus(PagamentoStatus.RECUSADO);
+        pedido.setDataInicio(DATA);
+        pedido.setDataFim(DATA);
+        AtualizacaoStatusLoteResultadoDto resultado = atualizacaoStatusLoteService.atualizarStatus(pedido);
+
+        // Sem pagamentoStatus no pedido, o filtro usa o status de origem da transição (CRIADO): o pagamento validado não é selecionado
+        assertThat(resultado.getTotalPagamentos()).isEqualTo(3);
+        assertThat(resultado.getAtualizados()).isEqualTo(3);
+        assertThat(resultado.getResultados()).extracting(ResultadoAtualizacaoStatusDto::getId).containsExactly(criado1, criado2, criado3);
+        assertThat(statusAtual(validado)).isEqualTo("VALIDADO");
+        assertThat(quantidadeNoResumo(PagamentoStatus.CRIADO)).isZero();
+        assertThat(quantidadeNoResumo(PagamentoStatus.RECUSADO)).isEqualTo(3);
+        assertThat(quantidadeNoResumo(PagamentoStatus.VALIDADO)).isEqualTo(1);
+    }
+
+    @Test
+    void pedidoIncompletoERecusadoComoRequisicaoInvalida() {
+        AtualizacaoStatusLoteDto semStatus = new AtualizacaoStatusLoteDto();
+        semStatus.setIds(List.of(1L));
+        assertThatThrownBy(() -> atualizacaoStatusLoteService.atualizarStatus(semStatus)).isInstanceOf(RequisicaoInvalidaException.class);
+
+        AtualizacaoStatusLoteDto semFiltros = new AtualizacaoStatusLoteDto();
+        semFiltros.setNovoStatus(PagamentoStatus.VALIDADO);
+        assertThatThrownBy(() -> atualizacaoStatusLoteService.atualizarStatus(semFiltros)).isInstanceOf(RequisicaoInvalidaException.class);
+    }
+
+    // O ID é reservado na sequence do Hibernate, para não colidir com os IDs de uma instância da aplicação rodando no mesmo banco
+    private Long inserir(PagamentoStatus status) {
+        long id = sequenciaPagamentoRepository.reservar(1);
+        String file = PREFIXO + estudanteId + "-" + (++sequencia) + ".pdf";
+        jdbcTemplate.update("INSERT INTO pagamento (id, data, valor, pagamento_status, tipo_pagamento, file, estudante_id) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                id, Date.valueOf(DATA), 1000, status.name(), "TRANSFERENCIA", file, estudanteId);
+        return id;
+    }
+
+    // Carrega o resumo dos pagamentos do teste, como a reconstrução faria
+    private void carregarResumo() {
+        jdbcTemplate.update("INSERT INTO resumo_pagamento (ano_mes, programa_id, tipo_pagamento, pagamento_status, quantidade, total) "
+                + "SELECT YEAR(p.data) * 100 + MONTH(p.data), e.programa_id, p.tipo_pagamento, p.pagamento_status, COUNT(*), SUM(p.valor) "
+                + "FROM pagamento p JOIN estudante e ON e.id = p.estudante_id WHERE e.id = ? GROUP BY 1, 2, 3, 4", estudanteId);
+    }
+
+    private String statusAtual(Long id) {
+        return jdbcTemplate.queryForObject("SELECT pagamento_status FROM pagamento WHERE id = ?", String.class, id);
+    }
+
+    private long quantidadeNoResumo(PagamentoStatus status) {
+        return jdbcTemplate.queryForObject("SELECT COALESCE(SUM(quantidade), 0) FROM resumo_pagamento WHERE programa_id = ? AND pagamento_status = ?",
+                Long.class, PROGRAMA, status.name());
+    }
+}
@@ -0,0 +1,75 @@
+package com.api.sistema_pagamento_backend.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+
+class LocalComprovanteStorageTest {
+
+    @TempDir
+    Path diretorio;
+
+    private LocalComprovanteStorage storage;
+
+    @BeforeEach
+    void setUp() {
+        storage = new LocalComprovanteStorage(diretorio.toString());
+    }
+
+    @Test
+    void uploadsIdenticosSaoArmazenadosUmaVez() throws Exception {
+        String primeira = storage.salvar(pdf("%PDF-1.7 comprovante"));
+        String segunda = storage.salvar(pdf("%PDF-1.7 comprovante"));
+
+        assertThat(segunda).isEqualTo(primeira);
+        assertThat(contarArquivos()).isEqualTo(1);
+        assertThat(Files.list(diretorio.resolve("tmp"))).isEmpty();
+    }
+
+    @Test
+    void conteudosDiferentesGeramReferenciasDiferentes() throws Exception {
+        String primeira = storage.salvar(pdf("%PDF-1.7 A"));
+        String segunda = storage.salvar(pdf("%PDF-1.7 B"));
+
+        assertThat(segunda).isNotEqualTo(primeira);
+        assertThat(contarArquivos()).isEqualTo(2);
+    }
+
+    @Test
+    void arquivoEhGravadoNoDiretorioDoHash() throws Exception {
+        // SHA-256 de "abc"
+        String hash = "ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad";
+        String referencia = storage.salvar(pdf("abc"));
+
+        Resource resource = storage.carregar(referencia);
+        assertThat(resource.getFile().toPath()).isEqualTo(diretorio.resolve("ba").resolve("78").resolve(hash + ".pdf"));
+        assertThat(resource.getContentAsString(StandardCharsets.UTF_8)).isEqualTo("abc");
+    }
+
+    @Test
+    void carregarReferenciaInexistenteFalha() {
+        String referencia = diretorio.resolve("inexistente.pdf").toUri().toString();
+        assertThatThrownBy(() -> storage.carregar(referencia)).isInstanceOf(FileNotFoundException.class);
+    }
+
+    private static ByteArrayInputStream pdf(String conteudo) {
+        return new ByteArrayInputStream(conteudo.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private long contarArquivos() throws Exception {
+        try (Stream<Path> arquivos = Files.walk(diretorio)) {
+            return arquivos.filter(Files::isRegularFile).count();
+        }
+    }
+}
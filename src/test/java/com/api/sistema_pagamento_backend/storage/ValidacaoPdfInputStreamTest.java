@@ -0,0 +1,101 @@
+package com.api.sistema_pagamento_backend.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import com.api.sistema_pagamento_backend.exceptions.ComprovanteInvalidoException;
+
+class ValidacaoPdfInputStreamTest {
+
+    private static final long LIMITE = 32;
+
+    @Test
+    void pdfDentroDoLimiteELidoPorInteiro() throws Exception {
+        byte[] conteudo = bytes("%PDF-1.7 comprovante");
+        assertThat(validar(new ByteArrayInputStream(conteudo)).readAllBytes()).isEqualTo(conteudo);
+    }
+
+    @Test
+    void assinaturaDivididaEntreLeiturasEValidada() throws Exception {
+        byte[] conteudo = bytes("%PDF-1.7 comprovante");
+        assertThat(validar(emPartes(conteudo, 2)).readAllBytes()).isEqualTo(conteudo);
+
+        assertThatThrownBy(() -> validar(emPartes(bytes("%PDX-1.7 comprovante"), 2)).readAllBytes())
+                .isInstanceOf(ComprovanteInvalidoException.class);
+    }
+
+    @Test
+    void leituraByteAByteValidaAssinatura() throws Exception {
+        InputStream fluxo = validar(new ByteArrayInputStream(bytes("%PDF-")));
+        for (int i = 0; i < 5; i++) {
+            assertThat(fluxo.read()).isNotNegative();
+        }
+        assertThat(fluxo.read()).isEqualTo(-1);
+
+        InputStream invalido = validar(new ByteArrayInputStream(bytes("GIF89a")));
+        assertThatThrownBy(invalido::read).isInstanceOf(ComprovanteInvalidoException.class);
+    }
+
+    @Test
+    void arquivoMenorQueAAssinaturaERecusadoNoFim() throws Exception {
+        InputStream fluxo = validar(new ByteArrayInputStream(bytes("%PD")));
+        assertThat(fluxo.read(new byte[10], 0, 10)).isEqualTo(3);
+        assertThatThrownBy(() -> fluxo.read(new byte[10], 0, 10)).isInstanceOf(ComprovanteInvalidoException.class);
+
+        assertThatThrownBy(() -> validar(new ByteArrayInputStream(new byte[0])).readAllBytes())
+                .isInstanceOf(ComprovanteInvalidoException.class);
+    }
+
+    @Test
+    void limiteDeTamanhoEAplicadoDuranteALeitura() throws Exception {
+        byte[] noLimite = bytes("%PDF-" + "x".repeat((int) LIMITE - 5));
+        assertThat(validar(new ByteArrayInputStream(noLimite)).readAllBytes()).hasSize((int) LIMITE);
+
+        byte[] acimaDoLimite = bytes("%PDF-" + "x".repeat((int) LIMITE - 4));
+        assertThatThrownBy(() -> validar(emPartes(acimaDoLimite, 7)).transferTo(OutputStream.nullOutputStream()))
+                .isInstanceOf(ComprovanteInvalidoException.class)
+                .hasMessageContaining("tamanho máximo");
+    }
+
+    @Test
+    void skipNaoPulaAValidacao() throws Exception {
+        assertThatThrownBy(() -> validar(new ByteArrayInputStream(bytes("GIF89a"))).skip(3))
+                .isInstanceOf(ComprovanteInvalidoException.class);
+
+        InputStream fluxo = validar(new ByteArrayInputStream(bytes("%PDF-" + "x".repeat((int) LIMITE))));
+        assertThatThrownBy(() -> {
+            while (fluxo.skip(Long.MAX_VALUE) > 0) {
+                // o descarte também conta para o limite de tamanho
+            }
+        }).isInstanceOf(ComprovanteInvalidoException.class);
+
+        assertThat(validar(new ByteArrayInputStream(bytes("%PDF-1.7"))).skip(0)).isZero();
+    }
+
+    private static ValidacaoPdfInputStream validar(InputStream conteudo) {
+        return new ValidacaoPdfInputStream(conteudo, LIMITE);
+    }
+
+    private static byte[] bytes(String texto) {
+        return texto.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    // Simula um fluxo de rede que entrega no máximo "tamanho" bytes por leitura
+    private static InputStream emPartes(byte[] conteudo, int tamanho) {
+        return new FilterInputStream(new ByteArrayInputStream(conteudo)) {
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                return super.read(b, off, Math.min(len, tamanho));
+            }
+        };
+    }
+}